@@ -0,0 +1,28 @@
+#!/bin/sh
+# Compara el modo de hilos de plataforma con el perfil 'virtual-threads' bajo la misma carga.
+# Requiere Java 21 y k6. Los resúmenes quedan en build/loadtest/{platform,virtual}.json.
+#
+#   ./loadtest/compare-threads.sh            (usa SIZE, VUS y DURATION de mutant-load.js)
+#   SIZE=200 VUS=500 ./loadtest/compare-threads.sh
+set -e
+cd "$(dirname "$0")/.."
+
+./gradlew bootJar --no-daemon -q
+JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+mkdir -p build/loadtest
+
+run() {
+    mode=$1
+    profile=$2
+    java -jar "$JAR" --spring.profiles.active="$profile" --spring.jpa.show-sql=false > "build/loadtest/$mode.log" 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null http://localhost:8080/actuator/health; do sleep 1; done
+    k6 run --quiet --summary-export="build/loadtest/$mode.json" loadtest/mutant-load.js
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run platform default
+run virtual virtual-threads
+
+echo "Resúmenes en build/loadtest/platform.json y build/loadtest/virtual.json"
@@ -0,0 +1,44 @@
+// Prueba de carga de POST /mutant con k6 (https://k6.io).
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e SIZE=100 --summary-export=summary.json loadtest/mutant-load.js
+//
+// Variables:
+//   BASE_URL  URL de la aplicación (por defecto http://localhost:8080)
+//   SIZE      Tamaño N de las matrices enviadas (por defecto 50)
+//   VUS       Usuarios virtuales concurrentes (por defecto 200)
+//   DURATION  Duración de la prueba (por defecto 60s)
+//   REPEAT    Proporción de peticiones que repiten un ADN ya enviado (por defecto 0.5)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SIZE = parseInt(__ENV.SIZE || '50');
+const REPEAT = parseFloat(__ENV.REPEAT || '0.5');
+const BASES = 'ACGT';
+
+export const options = {
+    vus: parseInt(__ENV.VUS || '200'),
+    duration: __ENV.DURATION || '60s',
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(99)', 'max'],
+};
+
+function randomDna() {
+    const dna = [];
+    for (let row = 0; row < SIZE; row++) {
+        let line = '';
+        for (let col = 0; col < SIZE; col++) {
+            line += BASES.charAt(Math.floor(Math.random() * 4));
+        }
+        dna.push(line);
+    }
+    return dna;
+}
+
+const repeated = JSON.stringify({ dna: randomDna() });
+const params = { headers: { 'Content-Type': 'application/json' } };
+
+export default function () {
+    const body = Math.random() < REPEAT ? repeated : JSON.stringify({ dna: randomDna() });
+    const res = http.post(`${BASE_URL}/mutant`, body, params);
+    check(res, { 'veredicto 200/403': (r) => r.status === 200 || r.status === 403 });
+}
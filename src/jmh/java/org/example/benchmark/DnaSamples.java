@@ -0,0 +1,121 @@
+package org.example.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generador determinístico de matrices de ADN para los benchmarks.
+ * La misma combinación de tamaño, disposición y semilla produce siempre la misma matriz,
+ * de modo que los resultados son comparables entre commits.
+ */
+public final class DnaSamples {
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+    private static final int SEQUENCE_LENGTH = 4;
+
+    /**
+     * Disposición de las secuencias dentro de la matriz.
+     */
+    public enum Layout {
+        /** Sin ninguna secuencia de 4: el detector debe recorrer la matriz completa (peor caso). */
+        HUMAN,
+        /** Dos secuencias en la esquina superior izquierda: corta en las primeras celdas. */
+        MUTANT_EARLY,
+        /** Dos secuencias en la esquina inferior derecha: corta recién al final del recorrido. */
+        MUTANT_LATE
+    }
+
+    private DnaSamples() {
+    }
+
+    /**
+     * Genera una matriz NxN con la disposición indicada.
+     *
+     * @param size   Tamaño N de la matriz (mínimo 4).
+     * @param layout Disposición de las secuencias.
+     * @param seed   Semilla del generador aleatorio.
+     * @return La matriz como array de Strings.
+     */
+    public static String[] generate(int size, Layout layout, long seed) {
+        char[][] matrix = humanMatrix(size, seed);
+        switch (layout) {
+            case MUTANT_EARLY -> {
+                plant(matrix, 0, 0, 0, 1);
+                plant(matrix, 0, 0, 1, 0);
+            }
+            case MUTANT_LATE -> {
+                plant(matrix, size - 1, size - SEQUENCE_LENGTH, 0, 1);
+                plant(matrix, size - SEQUENCE_LENGTH, size - 1, 1, 0);
+            }
+            default -> {
+                // HUMAN: la matriz se deja sin secuencias
+            }
+        }
+        String[] dna = new String[size];
+        for (int row = 0; row < size; row++) {
+            dna[row] = new String(matrix[row]);
+        }
+        return dna;
+    }
+
+    /**
+     * Genera una matriz aleatoria sin secuencias de 4 bases iguales en ninguna dirección.
+     * Cada celda descarta las bases que completarían una secuencia con las 3 celdas anteriores
+     * hacia la izquierda, hacia arriba y en ambas diagonales superiores.
+     */
+    private static char[][] humanMatrix(int size, long seed) {
+        Random random = new Random(seed);
+        char[][] matrix = new char[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int forbidden = forbiddenMask(matrix, row, col, 0, -1)
+                        | forbiddenMask(matrix, row, col, -1, 0)
+                        | forbiddenMask(matrix, row, col, -1, -1)
+                        | forbiddenMask(matrix, row, col, -1, 1);
+                if (forbidden == 0b1111) {
+                    // Caso extremadamente raro: se vuelve a generar con otra semilla.
+                    return humanMatrix(size, seed + 1);
+                }
+                int code;
+                do {
+                    code = random.nextInt(BASES.length);
+                } while ((forbidden & (1 << code)) != 0);
+                matrix[row][col] = BASES[code];
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Devuelve un bit por base que completaría una secuencia de 4 en la dirección dada.
+     */
+    private static int forbiddenMask(char[][] matrix, int row, int col, int dRow, int dCol) {
+        final int size = matrix.length;
+        final int lastRow = row + (SEQUENCE_LENGTH - 1) * dRow;
+        final int lastCol = col + (SEQUENCE_LENGTH - 1) * dCol;
+        if (lastRow < 0 || lastCol < 0 || lastCol >= size) {
+            return 0;
+        }
+        final char base = matrix[row + dRow][col + dCol];
+        for (int i = 2; i < SEQUENCE_LENGTH; i++) {
+            if (matrix[row + i * dRow][col + i * dCol] != base) {
+                return 0;
+            }
+        }
+        return 1 << indexOf(base);
+    }
+
+    private static void plant(char[][] matrix, int row, int col, int dRow, int dCol) {
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            matrix[row + i * dRow][col + i * dCol] = 'A';
+        }
+    }
+
+    private static int indexOf(char base) {
+        for (int i = 0; i < BASES.length; i++) {
+            if (BASES[i] == base) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Base inválida: " + base);
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.repository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compara el índice único sobre el hash en texto hexadecimal ({@code VARCHAR(64)}, esquema anterior)
+ * contra la clave binaria actual ({@code VARBINARY(32)}) en una base H2 en disco.
+ * <p>
+ * Mide la latencia de la búsqueda por clave (existente y desconocida). El espacio que ocupan la tabla y
+ * su índice según {@code DISK_SPACE_USED} se informa aparte, fuera de las mediciones, ejecutando
+ * {@link #main} con las mismas cantidades de filas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DnaKeyIndexBenchmark {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int KEY_LENGTH = 32;
+    private static final int BATCH_SIZE = 1000;
+
+    public enum KeyFormat {
+        HEX_STRING("VARCHAR(64)"),
+        BINARY("VARBINARY(32)");
+
+        private final String columnType;
+
+        KeyFormat(String columnType) {
+            this.columnType = columnType;
+        }
+    }
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    @Param({"HEX_STRING", "BINARY"})
+    private KeyFormat format;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement lookup;
+    private byte[][] keys;
+    private SplittableRandom random;
+
+    /**
+     * Crea y llena la tabla de cada formato para cada cantidad de filas e imprime lo que ocupan en disco.
+     *
+     * @param args Las cantidades de filas; por defecto, las mismas que {@link #rows}.
+     */
+    public static void main(String[] args) throws IOException, SQLException {
+        String[] rowCounts = args.length > 0 ? args : new String[]{"100000", "1000000"};
+        for (String rowCount : rowCounts) {
+            for (KeyFormat format : KeyFormat.values()) {
+                DnaKeyIndexBenchmark benchmark = new DnaKeyIndexBenchmark();
+                benchmark.rows = Integer.parseInt(rowCount);
+                benchmark.format = format;
+                benchmark.open();
+                try (Statement statement = benchmark.connection.createStatement()) {
+                    statement.execute("CHECKPOINT SYNC");
+                    try (ResultSet rs = statement.executeQuery("SELECT DISK_SPACE_USED('DNA_RECORDS')")) {
+                        rs.next();
+                        System.out.printf("[%s, %d filas] tabla + índices: %,d bytes%n", format, benchmark.rows, rs.getLong(1));
+                    }
+                } finally {
+                    benchmark.close();
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        open();
+        lookup = connection.prepareStatement("SELECT is_mutant FROM dna_records WHERE dna_key = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        lookup.close();
+        close();
+    }
+
+    /**
+     * Crea la base en un directorio temporal y llena la tabla con {@link #rows} claves aleatorias.
+     */
+    private void open() throws IOException, SQLException {
+        directory = Files.createTempDirectory("dna-key-index");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("db"), "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE dna_records (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "dna_key " + format.columnType + " NOT NULL, is_mutant BOOLEAN NOT NULL)");
+            statement.execute("CREATE UNIQUE INDEX idx_dna_key ON dna_records(dna_key)");
+        }
+
+        random = new SplittableRandom(42L);
+        keys = new byte[rows][];
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO dna_records (dna_key, is_mutant) VALUES (?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                keys[i] = randomKey();
+                bindKey(insert, keys[i]);
+                insert.setBoolean(2, (i & 1) == 0);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private void close() throws IOException, SQLException {
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean findExisting() throws SQLException {
+        return find(keys[random.nextInt(rows)]);
+    }
+
+    @Benchmark
+    public boolean findMissing() throws SQLException {
+        return find(randomKey());
+    }
+
+    private boolean find(byte[] key) throws SQLException {
+        bindKey(lookup, key);
+        try (ResultSet rs = lookup.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private void bindKey(PreparedStatement statement, byte[] key) throws SQLException {
+        if (format == KeyFormat.HEX_STRING) {
+            statement.setString(1, HEX.formatHex(key));
+        } else {
+            statement.setBytes(1, key);
+        }
+    }
+
+    private byte[] randomKey() {
+        byte[] key = new byte[KEY_LENGTH];
+        random.nextBytes(key);
+        return key;
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.repository;
+
+import org.example.Main;
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compara los dos {@link VerdictStore} con el contexto completo de Spring: {@code JPA} sobre H2 en disco
+ * y {@code LOG} con el log y el índice mapeado en un directorio temporal.
+ * <p>
+ * Mide la búsqueda de una clave guardada, la de una clave desconocida y la inserción de una clave nueva,
+ * con {@code keys} claves precargadas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerdictStoreBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"JPA", "LOG"})
+    private String store;
+
+    @Param({"100000"})
+    private int keys;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private VerdictStore verdictStore;
+    private DnaKey[] stored;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("verdict-store");
+        context = new SpringApplicationBuilder(Main.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:file:" + directory.resolve("db"),
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "mutant.filter.enabled=false",
+                        "mutant.store.type=" + store,
+                        "mutant.store.log.directory=" + directory.resolve("log"),
+                        "logging.level.root=WARN")
+                .run();
+        verdictStore = context.getBean(VerdictStore.class);
+
+        random = new SplittableRandom(42L);
+        stored = new DnaKey[keys];
+        List<DnaRecord> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < keys; i++) {
+            stored[i] = randomKey();
+            batch.add(record(stored[i]));
+            if (batch.size() == BATCH_SIZE || i == keys - 1) {
+                verdictStore.insertAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Boolean> findExisting() {
+        return verdictStore.findVerdict(stored[random.nextInt(keys)]);
+    }
+
+    @Benchmark
+    public Optional<Boolean> findMissing() {
+        return verdictStore.findVerdict(randomKey());
+    }
+
+    @Benchmark
+    public boolean insert() {
+        return verdictStore.insert(record(randomKey()));
+    }
+
+    private DnaKey randomKey() {
+        byte[] key = new byte[DnaKey.MAX_LENGTH];
+        random.nextBytes(key);
+        return new DnaKey(key);
+    }
+
+    private DnaRecord record(DnaKey dnaKey) {
+        DnaRecord record = new DnaRecord();
+        record.setDnaKey(dnaKey);
+        record.setMutant(random.nextBoolean());
+        return record;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.service;
+
+import org.example.Main;
+import org.example.benchmark.DnaSamples;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de punta a punta de {@link MutantService#analyzeDna(String[])} con el contexto
+ * completo de Spring y H2 en memoria: hash, búsqueda en el repositorio, detección e inserción.
+ * <p>
+ * Con {@code known = true} siempre se envía el mismo ADN (camino de ADN ya analizado).
+ * Con {@code known = false} cada invocación modifica la primera fila para obtener un hash nuevo,
+ * por lo que se mide el camino completo con inserción.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzeDnaBenchmark {
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    @Param({"6", "100", "1000"})
+    private int size;
+
+    @Param({"HUMAN", "MUTANT_EARLY"})
+    private DnaSamples.Layout layout;
+
+    @Param({"true", "false"})
+    private boolean known;
+
+    private ConfigurableApplicationContext context;
+    private MutantService mutantService;
+    private String[] dna;
+    private char[] firstRow;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        mutantService = context.getBean(MutantService.class);
+        dna = DnaSamples.generate(size, layout, 42L);
+        firstRow = dna[0].toCharArray();
+        mutantService.analyzeDna(dna);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean analyzeDna() {
+        if (known) {
+            return mutantService.analyzeDna(dna);
+        }
+        String[] fresh = dna.clone();
+        fresh[0] = uniqueRow(counter++);
+        return mutantService.analyzeDna(fresh);
+    }
+
+    /**
+     * Codifica el contador en base 4 sobre las primeras bases de la primera fila.
+     */
+    private String uniqueRow(long value) {
+        char[] row = firstRow.clone();
+        for (int col = 0; col < row.length && value != 0; col++) {
+            row[col] = BASES[(int) (value & 0b11)];
+            value >>>= 2;
+        }
+        return new String(row);
+    }
+}
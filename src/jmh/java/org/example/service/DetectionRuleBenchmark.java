@@ -0,0 +1,52 @@
+package org.example.service;
+
+import org.example.benchmark.DnaSamples;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el motor escalar con el de matriz aplanada ({@link FlatMutantDetector}) para varios criterios.
+ * <p>
+ * El criterio estándar ({@code 4:2}) sigue usando el motor configurado en producción; la fila
+ * {@code flat} con {@code 4:2} muestra cuánto costaría pasarlo también por la tabla de desplazamientos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetectionRuleBenchmark {
+
+    @Param({"16", "100", "1000"})
+    private int size;
+
+    @Param({"HUMAN", "MUTANT_EARLY", "MUTANT_LATE"})
+    private DnaSamples.Layout layout;
+
+    @Param({"4:2", "5:2", "4:3", "8:1"})
+    private String rule;
+
+    private MutantDetector scalar;
+    private DetectionRule detectionRule;
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final String[] parts = rule.split(":");
+        detectionRule = new DetectionRule(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        scalar = new MutantDetector(DetectionEngine.SCALAR);
+        dna = DnaSamples.generate(size, layout, 42L);
+    }
+
+    @Benchmark
+    public boolean scalarDefault() {
+        return scalar.isMutant(dna);
+    }
+
+    @Benchmark
+    public boolean flat() {
+        return FlatMutantDetector.scan(dna, detectionRule).mutant();
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.service;
+
+import org.example.benchmark.DnaSamples;
+import org.example.entity.DnaKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del cálculo del hash de ADN usado como clave de deduplicación en {@link MutantService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DnaHashBenchmark {
+
+    @Param({"4", "16", "100", "500", "1000", "2000"})
+    private int size;
+
+    @Param({"SHA_256", "MURMUR3_128"})
+    private DnaHashAlgorithm algorithm;
+
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dna = DnaSamples.generate(size, DnaSamples.Layout.HUMAN, 42L);
+    }
+
+    @Benchmark
+    public DnaKey calculateDnaHash() {
+        return DnaHasher.hash(dna, algorithm);
+    }
+}
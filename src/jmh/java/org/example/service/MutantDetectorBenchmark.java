@@ -0,0 +1,42 @@
+package org.example.service;
+
+import org.example.benchmark.DnaSamples;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link MutantDetector#isMutant(String[])} por tamaño de matriz,
+ * disposición de las secuencias (corte temprano vs peor caso) y motor de detección.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutantDetectorBenchmark {
+
+    @Param({"4", "16", "100", "500", "1000", "2000"})
+    private int size;
+
+    @Param({"HUMAN", "MUTANT_EARLY", "MUTANT_LATE"})
+    private DnaSamples.Layout layout;
+
+    @Param({"SCALAR", "BIT_PACKED", "PARALLEL", "STRIDED", "VECTOR", "ROLLING"})
+    private DetectionEngine engine;
+
+    private MutantDetector detector;
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        detector = new MutantDetector(engine);
+        dna = DnaSamples.generate(size, layout, 42L);
+    }
+
+    @Benchmark
+    public boolean isMutant() {
+        return detector.isMutant(dna);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.service;
+
+import org.example.benchmark.DnaSamples;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el veredicto solo ({@link MutantDetector#isMutantPacked(PackedDnaMatrix)}) contra el modo
+ * reporte ({@link MutantDetector#reportPacked(PackedDnaMatrix, int)}) sobre la misma matriz empaquetada.
+ * <p>
+ * Con {@code maxRuns = 2} el reporte corta la búsqueda en el mismo punto que el veredicto; con
+ * {@code maxRuns = 10000} recorre la matriz hasta el final. Con {@code -prof gc} se ve que el veredicto
+ * no reserva memoria por llamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunReportBenchmark {
+
+    @Param({"16", "100", "1000"})
+    private int size;
+
+    @Param({"HUMAN", "MUTANT_EARLY", "MUTANT_LATE"})
+    private DnaSamples.Layout layout;
+
+    @Param({"2", "10000"})
+    private int maxRuns;
+
+    private MutantDetector detector;
+    private PackedDnaMatrix dna;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        detector = new MutantDetector(DetectionEngine.BIT_PACKED);
+        dna = PackedDnaMatrix.pack(DnaSamples.generate(size, layout, 42L), 4);
+    }
+
+    @Benchmark
+    public boolean verdict() {
+        return detector.isMutantPacked(dna);
+    }
+
+    @Benchmark
+    public RunReport report() {
+        return detector.reportPacked(dna, maxRuns);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.validation;
+
+import org.example.benchmark.DnaSamples;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link ValidDnaSequenceValidator#isValid} sobre matrices válidas,
+ * que es el caso que recorre todas las filas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidDnaSequenceValidatorBenchmark {
+
+    @Param({"4", "16", "100", "500", "1000", "2000"})
+    private int size;
+
+    private ValidDnaSequenceValidator validator;
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validator = new ValidDnaSequenceValidator();
+        dna = DnaSamples.generate(size, DnaSamples.Layout.HUMAN, 42L);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        // Con ADN válido el contexto nunca se utiliza.
+        return validator.isValid(dna, null);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.config;
+
+import org.example.repository.DnaKeyMigration;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Registra la migración del hash hexadecimal a la columna binaria {@code dna_key} y hace que el
+ * {@code EntityManagerFactory} espere a que termine, de modo que Hibernate valide o actualice
+ * el esquema ya migrado.
+ */
+@Configuration
+public class DnaKeyMigrationConfig {
+
+    @Bean
+    public DnaKeyMigration dnaKeyMigration(DataSource dataSource) {
+        return new DnaKeyMigration(dataSource);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor dnaKeyMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("dnaKeyMigration");
+    }
+}
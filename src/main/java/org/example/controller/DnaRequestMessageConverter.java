@@ -0,0 +1,177 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.example.dto.DnaRequest;
+import org.example.exception.InvalidDnaException;
+import org.example.service.PackedDnaMatrix;
+import org.example.validation.ValidDnaSequenceValidator;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Lee el cuerpo JSON de {@code POST /mutant} directamente a una {@link PackedDnaMatrix}, sin crear
+ * un {@code String} por fila ni el {@code String[]} intermedio.
+ * <p>
+ * Cada fila se toma del buffer de caracteres del parser de Jackson y se empaqueta a 2 bits por base
+ * mientras se valida la forma NxN y los caracteres. Los errores se informan con los mismos mensajes
+ * y el mismo orden que {@code @NotNull}, {@code @NotEmpty} y {@link ValidDnaSequenceValidator}, a
+ * través de {@link InvalidDnaException}; el JSON mal formado sigue respondiendo {@code malformed_json}.
+ * <p>
+ * Spring Boot registra los beans {@code HttpMessageConverter} delante de los convertidores por defecto,
+ * así que solo afecta a los {@code @RequestBody DnaRequest}; el lote y el stream se leen con Jackson.
+ * <p>
+ * Es de solo lectura: {@link #canWrite} siempre es {@code false}, así que Spring nunca lo elige para
+ * escribir una respuesta.
+ */
+@Component
+public class DnaRequestMessageConverter implements HttpMessageConverter<DnaRequest> {
+
+    private static final String DNA_FIELD = "dna";
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+
+    private final JsonFactory jsonFactory;
+
+    public DnaRequestMessageConverter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        if (DnaRequest.class != clazz) {
+            return false;
+        }
+        if (mediaType == null) {
+            return true;
+        }
+        for (MediaType supported : SUPPORTED_MEDIA_TYPES) {
+            if (supported.includes(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    public void write(DnaRequest request, MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("DnaRequestMessageConverter solo lee peticiones");
+    }
+
+    @Override
+    public DnaRequest read(Class<? extends DnaRequest> clazz, HttpInputMessage inputMessage) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputMessage.getBody())) {
+            final JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                // Igual que Jackson: un body "null" se trata como body ausente.
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw MismatchedInputException.from(parser, DnaRequest.class,
+                        "Se esperaba un objeto JSON con el campo 'dna'");
+            }
+            return new DnaRequest(readObject(parser));
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    /**
+     * Recorre el objeto raíz; los campos distintos de {@code dna} se ignoran, como en Jackson.
+     */
+    private static PackedDnaMatrix readObject(JsonParser parser) throws IOException {
+        PackedDnaMatrix dna = null;
+        boolean present = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (!DNA_FIELD.equals(field)) {
+                parser.skipChildren();
+                continue;
+            }
+            if (value == JsonToken.VALUE_NULL) {
+                dna = null;
+                present = false;
+            } else if (value == JsonToken.START_ARRAY) {
+                dna = readRows(parser);
+                present = true;
+            } else {
+                throw MismatchedInputException.from(parser, String[].class,
+                        "El campo 'dna' debe ser un array de Strings");
+            }
+        }
+        if (!present) {
+            throw new InvalidDnaException(DNA_FIELD, DnaRequest.NULL_MESSAGE);
+        }
+        return dna;
+    }
+
+    /**
+     * Lee las filas hasta el fin del array. El tamaño N se toma de la primera fila y se confirma al
+     * final con la cantidad de filas; después del primer error se sigue leyendo sin empaquetar para
+     * poder informar, como el validador, primero el tamaño mínimo y luego el error de la primera fila.
+     */
+    private static PackedDnaMatrix readRows(JsonParser parser) throws IOException {
+        PackedDnaMatrix.Builder builder = null;
+        String rowError = null;
+        int rows = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null || !token.isScalarValue()) {
+                throw MismatchedInputException.from(parser, String[].class,
+                        "Cada fila de 'dna' debe ser un String");
+            }
+            // Los escalares que no son String (números, booleanos) se leen como texto, igual que Jackson.
+            final boolean nullRow = token == JsonToken.VALUE_NULL;
+            final int length = nullRow ? -1 : parser.getTextLength();
+            if (rows == 0 && !nullRow) {
+                builder = new PackedDnaMatrix.Builder(length);
+            }
+            if (rowError == null) {
+                if (builder == null || length != builder.size() || rows >= builder.size()) {
+                    rowError = ValidDnaSequenceValidator.NOT_SQUARE_MESSAGE;
+                } else if (!builder.appendRow(parser.getTextCharacters(), parser.getTextOffset(), length)) {
+                    rowError = ValidDnaSequenceValidator.INVALID_BASES_MESSAGE;
+                }
+            }
+            rows++;
+        }
+
+        if (rows == 0) {
+            throw new InvalidDnaException(DNA_FIELD, DnaRequest.EMPTY_MESSAGE);
+        }
+        if (rows < ValidDnaSequenceValidator.MIN_SIZE) {
+            throw new InvalidDnaException(DNA_FIELD, ValidDnaSequenceValidator.MIN_SIZE_MESSAGE);
+        }
+        if (builder == null || rows != builder.size()) {
+            // La primera fila no mide lo mismo que la cantidad de filas.
+            throw new InvalidDnaException(DNA_FIELD, ValidDnaSequenceValidator.NOT_SQUARE_MESSAGE);
+        }
+        if (rowError != null) {
+            throw new InvalidDnaException(DNA_FIELD, rowError);
+        }
+        return builder.build();
+    }
+}
@@ -1,19 +1,37 @@
 package org.example.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.example.dto.DnaBatchRequest;
+import org.example.dto.DnaBatchResponse;
+import org.example.dto.DnaReportResponse;
 import org.example.dto.DnaRequest;
 import org.example.dto.StatsResponse;
+import org.example.dto.StatsWindowResponse;
+import org.example.exception.InvalidRequestParameterException;
+import org.example.service.DetectionRule;
+import org.example.service.DetectionRules;
+import org.example.service.DnaStreamService;
 import org.example.service.MutantService;
+import org.example.service.RunReport;
 import org.example.service.StatsService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/")
@@ -23,17 +41,46 @@ public class MutantController {
 
     private final MutantService mutantService;
     private final StatsService statsService;
+    private final DnaStreamService dnaStreamService;
+    private final DetectionRules detectionRules;
 
     @PostMapping("/mutant")
     @Operation(summary = "Verifica si una secuencia de ADN pertenece a un mutante.",
-            description = "Recibe una secuencia de ADN y la analiza. Si el ADN corresponde a un mutante, devuelve 200 OK. Si es humano, devuelve 403 Forbidden.")
+            description = "Recibe una secuencia de ADN y la analiza. Si el ADN corresponde a un mutante, devuelve 200 OK. Si es humano, devuelve 403 Forbidden. El criterio (largo de secuencia y cantidad necesaria) puede variar por tenant o por petición; fuera del estándar el veredicto no se guarda. Con report=true, la respuesta incluye además las secuencias encontradas (inicio, dirección y base), hasta max_runs.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "El ADN analizado CORRESPONDE a un mutante.", content = @Content),
-            @ApiResponse(responseCode = "403", description = "El ADN analizado NO CORRESPONDE a un mutante (es humano).", content = @Content),
-            @ApiResponse(responseCode = "400", description = "La petición es inválida (e.g., ADN no es NxN, contiene caracteres inválidos).", content = @Content)
+            @ApiResponse(responseCode = "200", description = "El ADN analizado CORRESPONDE a un mutante. Con report=true, el cuerpo trae las secuencias encontradas."),
+            @ApiResponse(responseCode = "403", description = "El ADN analizado NO CORRESPONDE a un mutante (es humano). Con report=true, el cuerpo trae las secuencias encontradas."),
+            @ApiResponse(responseCode = "400", description = "La petición es inválida (e.g., ADN no es NxN, contiene caracteres inválidos, parámetros fuera de rango).", content = @Content)
     })
-    public ResponseEntity<Void> checkMutant(@Validated @RequestBody DnaRequest request) {
-        boolean isMutant = mutantService.analyzeDna(request.getDna());
+    public ResponseEntity<DnaReportResponse> checkMutant(
+            @RequestBody DnaRequest request,
+            @Parameter(description = "Si es true, devuelve también las secuencias encontradas.")
+            @RequestParam(name = "report", defaultValue = "false") boolean report,
+            @Parameter(description = "Cantidad máxima de secuencias a informar con report=true (entre 2 y " + RunReport.MAX_RUNS + "). Con 2 la búsqueda se corta igual que sin reporte.")
+            @RequestParam(name = "max_runs", defaultValue = "2") int maxRuns,
+            @Parameter(description = "Tenant de la petición; elige el criterio configurado en mutant.detector.tenant-rules.")
+            @RequestHeader(name = "X-Tenant-Id", required = false) String tenant,
+            @Parameter(description = "Largo de cada secuencia (entre " + DetectionRule.MIN_RUN_LENGTH + " y " + DetectionRule.MAX_RUN_LENGTH + "). Por defecto, el del tenant o 4.")
+            @RequestParam(name = "run_length", required = false) Integer runLength,
+            @Parameter(description = "Secuencias necesarias para ser mutante (entre 1 y " + DetectionRule.MAX_MIN_SEQUENCES + "). Por defecto, las del tenant o 2.")
+            @RequestParam(name = "min_sequences", required = false) Integer minSequences) {
+        // DnaRequestMessageConverter ya validó el ADN mientras lo leía y lo dejó empaquetado.
+        DetectionRule rule = detectionRule(tenant, runLength, minSequences);
+        if (report) {
+            if (maxRuns < 2 || maxRuns > RunReport.MAX_RUNS) {
+                throw new InvalidRequestParameterException("max_runs", "El parámetro 'max_runs' debe estar entre 2 y " + RunReport.MAX_RUNS + ".");
+            }
+            if (!rule.isDefault()) {
+                throw new InvalidRequestParameterException("report", "El parámetro 'report' solo admite el criterio estándar (4 bases, 2 secuencias).");
+            }
+            RunReport runReport = mutantService.reportPackedDna(request.getPackedDna(), maxRuns);
+            return ResponseEntity.status(runReport.isMutant() ? HttpStatus.OK : HttpStatus.FORBIDDEN)
+                    .body(DnaReportResponse.from(runReport));
+        }
+
+        boolean isMutant = rule.isDefault()
+                ? mutantService.analyzePackedDna(request.getPackedDna())
+                : mutantService.analyzePackedDna(request.getPackedDna(), rule);
 
         if (isMutant) {
             return ResponseEntity.ok().build();
@@ -42,6 +89,55 @@ public class MutantController {
         }
     }
 
+    @PostMapping("/mutant/batch")
+    @Operation(summary = "Verifica un lote de secuencias de ADN en una sola petición.",
+            description = "Recibe hasta " + DnaBatchRequest.MAX_BATCH_SIZE + " secuencias de ADN y devuelve el veredicto de cada una, en el mismo orden. La detección se ejecuta en paralelo y la persistencia se agrupa en lotes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote analizado. Cada elemento indica si el ADN corresponde a un mutante."),
+            @ApiResponse(responseCode = "400", description = "La petición es inválida (e.g., lote vacío, demasiado grande o con algún ADN inválido).", content = @Content)
+    })
+    public ResponseEntity<DnaBatchResponse> checkMutantBatch(@Validated @RequestBody DnaBatchRequest request) {
+        List<String[]> dnas = request.getSamples().stream().map(DnaRequest::getDna).toList();
+        boolean[] verdicts = mutantService.analyzeBatch(dnas);
+
+        List<DnaBatchResponse.Verdict> results = new ArrayList<>(verdicts.length);
+        long mutantCount = 0;
+        for (int i = 0; i < verdicts.length; i++) {
+            results.add(new DnaBatchResponse.Verdict(i, verdicts[i]));
+            if (verdicts[i]) {
+                mutantCount++;
+            }
+        }
+        return ResponseEntity.ok(new DnaBatchResponse(results, mutantCount, verdicts.length - mutantCount));
+    }
+
+    @PostMapping(value = "/mutant/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Verifica un stream NDJSON de secuencias de ADN.",
+            description = "Recibe un objeto {\"dna\": [...]} por línea y responde, a medida que los procesa, una línea por objeto con su veredicto o su error de validación. La memoria usada no depende del tamaño del upload.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream procesado. Cada línea contiene el índice y el veredicto o el error de la secuencia.")
+    })
+    public ResponseEntity<StreamingResponseBody> checkMutantStream(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        StreamingResponseBody responseBody = out -> dnaStreamService.process(body, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+    }
+
+    /**
+     * Valida los parámetros del criterio de mutante y lo resuelve con el del tenant.
+     */
+    private DetectionRule detectionRule(String tenant, Integer runLength, Integer minSequences) {
+        if (runLength != null && (runLength < DetectionRule.MIN_RUN_LENGTH || runLength > DetectionRule.MAX_RUN_LENGTH)) {
+            throw new InvalidRequestParameterException("run_length", "El parámetro 'run_length' debe estar entre "
+                    + DetectionRule.MIN_RUN_LENGTH + " y " + DetectionRule.MAX_RUN_LENGTH + ".");
+        }
+        if (minSequences != null && (minSequences < 1 || minSequences > DetectionRule.MAX_MIN_SEQUENCES)) {
+            throw new InvalidRequestParameterException("min_sequences", "El parámetro 'min_sequences' debe estar entre 1 y "
+                    + DetectionRule.MAX_MIN_SEQUENCES + ".");
+        }
+        return detectionRules.resolve(tenant, runLength, minSequences);
+    }
+
     @GetMapping("/stats")
     @Operation(summary = "Obtiene las estadísticas de las verificaciones de ADN.",
             description = "Devuelve un JSON con la cantidad de ADNs mutantes, la cantidad de ADNs humanos y el ratio de mutantes sobre humanos.")
@@ -52,4 +148,14 @@ public class MutantController {
         StatsResponse stats = statsService.getStats();
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/stats/windows")
+    @Operation(summary = "Obtiene las estadísticas del último minuto, hora y día.",
+            description = "Devuelve, para cada ventana, la cantidad de verificaciones, el throughput, los mutantes y humanos, su ratio y la fracción resuelta por la caché. Se calcula en memoria, sin consultar la base de datos.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas por ventana obtenidas exitosamente.")
+    })
+    public ResponseEntity<StatsWindowResponse> getWindowedStats() {
+        return ResponseEntity.ok(statsService.getWindowedStats());
+    }
 }
@@ -0,0 +1,31 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request para verificar varias secuencias de ADN en una sola petición.")
+public class DnaBatchRequest {
+
+    /** Cantidad máxima de secuencias aceptadas por petición. */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    @Schema(
+            description = "Lista de secuencias de ADN. Cada elemento tiene el mismo formato que el body de POST /mutant.",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "El campo 'samples' no puede ser nulo.")
+    @NotEmpty(message = "El campo 'samples' no puede estar vacío.")
+    @Size(max = MAX_BATCH_SIZE, message = "El lote no puede superar las " + MAX_BATCH_SIZE + " secuencias.")
+    private List<@Valid @NotNull DnaRequest> samples;
+}
@@ -0,0 +1,43 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Respuesta con el veredicto de cada secuencia de un lote, en el mismo orden del request.")
+public class DnaBatchResponse {
+
+    @Schema(description = "Veredicto de cada secuencia del lote.")
+    @JsonProperty("results")
+    private List<Verdict> results;
+
+    @Schema(description = "Cantidad de secuencias del lote que corresponden a mutantes.", example = "1")
+    @JsonProperty("count_mutant_dna")
+    private long countMutantDna;
+
+    @Schema(description = "Cantidad de secuencias del lote que corresponden a humanos.", example = "1")
+    @JsonProperty("count_human_dna")
+    private long countHumanDna;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Veredicto de una secuencia del lote.")
+    public static class Verdict {
+
+        @Schema(description = "Posición de la secuencia en el lote.", example = "0")
+        @JsonProperty("index")
+        private int index;
+
+        @Schema(description = "Indica si el ADN corresponde a un mutante.", example = "true")
+        @JsonProperty("is_mutant")
+        private Boolean isMutant;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.service.RunReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Respuesta de POST /mutant?report=true: el veredicto y las secuencias encontradas.")
+public class DnaReportResponse {
+
+    @Schema(description = "Indica si el ADN corresponde a un mutante.", example = "true")
+    @JsonProperty("is_mutant")
+    private Boolean isMutant;
+
+    @Schema(description = "Secuencias de 4 bases iguales encontradas, hasta max_runs.")
+    @JsonProperty("runs")
+    private List<Run> runs;
+
+    public static DnaReportResponse from(RunReport report) {
+        List<Run> runs = new ArrayList<>(report.runCount());
+        for (int i = 0; i < report.runCount(); i++) {
+            runs.add(new Run(report.row(i), report.col(i), report.direction(i).name(), String.valueOf(report.base(i))));
+        }
+        return new DnaReportResponse(report.isMutant(), runs);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Una secuencia encontrada, identificada por su primera base.")
+    public static class Run {
+
+        @Schema(description = "Fila de la primera base (desde 0).", example = "4")
+        @JsonProperty("row")
+        private int row;
+
+        @Schema(description = "Columna de la primera base (desde 0).", example = "0")
+        @JsonProperty("col")
+        private int col;
+
+        @Schema(description = "Dirección de la secuencia.", example = "HORIZONTAL",
+                allowableValues = {"HORIZONTAL", "VERTICAL", "DIAGONAL_DOWN", "DIAGONAL_UP"})
+        @JsonProperty("direction")
+        private String direction;
+
+        @Schema(description = "Base repetida.", example = "C")
+        @JsonProperty("base")
+        private String base;
+    }
+}
@@ -1,26 +1,49 @@
 package org.example.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.example.service.PackedDnaMatrix;
 import org.example.validation.ValidDnaSequence;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 @Schema(description = "Request para verificar una secuencia de ADN.")
 public class DnaRequest {
 
+    public static final String NULL_MESSAGE = "El campo 'dna' no puede ser nulo.";
+    public static final String EMPTY_MESSAGE = "El campo 'dna' no puede estar vacío.";
+
     @Schema(
             description = "Secuencia de ADN representada como un array de Strings (matriz NxN).",
             example = "[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]",
             requiredMode = Schema.RequiredMode.REQUIRED
     )
-    @NotNull(message = "El campo 'dna' no puede ser nulo.")
-    @NotEmpty(message = "El campo 'dna' no puede estar vacío.")
+    @NotNull(message = NULL_MESSAGE)
+    @NotEmpty(message = EMPTY_MESSAGE)
     @ValidDnaSequence
     private String[] dna;
+
+    /**
+     * Matriz ya validada y empaquetada por {@link org.example.controller.DnaRequestMessageConverter}
+     * al leer el cuerpo de {@code POST /mutant}. En ese caso {@link #dna} queda en {@code null}.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PackedDnaMatrix packedDna;
+
+    public DnaRequest(String[] dna) {
+        this.dna = dna;
+    }
+
+    public DnaRequest(PackedDnaMatrix packedDna) {
+        this.packedDna = packedDna;
+    }
 }
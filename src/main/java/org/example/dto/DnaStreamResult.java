@@ -0,0 +1,42 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Línea NDJSON de respuesta de POST /mutant/stream: el veredicto o el error de una secuencia.")
+public class DnaStreamResult {
+
+    @Schema(description = "Posición de la secuencia en el stream de entrada.", example = "0")
+    @JsonProperty("index")
+    private long index;
+
+    @Schema(description = "Indica si el ADN corresponde a un mutante. Ausente si la secuencia es inválida.", example = "true")
+    @JsonProperty("is_mutant")
+    private Boolean isMutant;
+
+    @Schema(description = "Código de error si la secuencia es inválida.", example = "validation_failed")
+    @JsonProperty("error")
+    private String error;
+
+    @Schema(description = "Detalle de los errores de validación.")
+    @JsonProperty("details")
+    private List<String> details;
+
+    public static DnaStreamResult verdict(long index, boolean isMutant) {
+        return new DnaStreamResult(index, isMutant, null, null);
+    }
+
+    public static DnaStreamResult error(long index, String error, List<String> details) {
+        return new DnaStreamResult(index, null, error, details);
+    }
+}
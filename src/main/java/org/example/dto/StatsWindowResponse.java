@@ -0,0 +1,57 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Respuesta con las estadísticas de las verificaciones del último minuto, hora y día.")
+public class StatsWindowResponse {
+
+    @Schema(description = "Estadísticas de los últimos 60 segundos.")
+    @JsonProperty("last_minute")
+    private Window lastMinute;
+
+    @Schema(description = "Estadísticas de los últimos 3600 segundos.")
+    @JsonProperty("last_hour")
+    private Window lastHour;
+
+    @Schema(description = "Estadísticas de los últimos 86400 segundos.")
+    @JsonProperty("last_day")
+    private Window lastDay;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Estadísticas de una ventana de tiempo.")
+    public static class Window {
+
+        @Schema(description = "Cantidad de verificaciones de POST /mutant en la ventana.", example = "1200")
+        @JsonProperty("requests")
+        private long requests;
+
+        @Schema(description = "Verificaciones por segundo promedio en la ventana.", example = "20.0")
+        @JsonProperty("throughput_per_second")
+        private double throughputPerSecond;
+
+        @Schema(description = "Verificaciones con veredicto mutante en la ventana.", example = "400")
+        @JsonProperty("count_mutant_dna")
+        private long countMutantDna;
+
+        @Schema(description = "Verificaciones con veredicto humano en la ventana.", example = "800")
+        @JsonProperty("count_human_dna")
+        private long countHumanDna;
+
+        @Schema(description = "Ratio de mutantes sobre humanos en la ventana (mutantes / humanos).", example = "0.5")
+        @JsonProperty("ratio")
+        private double ratio;
+
+        @Schema(description = "Fracción de verificaciones resueltas por la caché en memoria.", example = "0.75")
+        @JsonProperty("cache_hit_ratio")
+        private double cacheHitRatio;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.entity;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Clave binaria de un ADN: el digest crudo (32 bytes para SHA-256, 16 para MurmurHash3)
+ * tal como se guarda en la columna {@code dna_key}. Reemplaza al hash en texto hexadecimal,
+ * que ocupaba el doble y obligaba a comparar cadenas en el índice único.
+ * <p>
+ * Es inmutable: el array recibido no se copia, por lo que quien lo crea no debe modificarlo después.
+ * Se puede usar como clave de mapas y cachés.
+ */
+public final class DnaKey {
+
+    /** Largo máximo en bytes (SHA-256); define el tamaño de la columna {@code VARBINARY(32)}. */
+    public static final int MAX_LENGTH = 32;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final byte[] bytes;
+    private final int hashCode;
+
+    public DnaKey(byte[] bytes) {
+        this.bytes = bytes;
+        this.hashCode = Arrays.hashCode(bytes);
+    }
+
+    /**
+     * Crea una clave a partir de su representación hexadecimal (formato de la antigua columna {@code dna_hash}).
+     *
+     * @throws IllegalArgumentException si el texto no es hexadecimal válido.
+     */
+    public static DnaKey fromHex(String hex) {
+        return new DnaKey(HEX.parseHex(hex));
+    }
+
+    /**
+     * Devuelve los bytes del digest. El array es el interno de la clave y no debe modificarse.
+     */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return La cantidad de bytes del digest.
+     */
+    public int length() {
+        return bytes.length;
+    }
+
+    /**
+     * @return El digest en formato hexadecimal, para logs y diagnóstico.
+     */
+    public String toHex() {
+        return HEX.formatHex(bytes);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof DnaKey key && Arrays.equals(bytes, key.bytes));
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Mapea {@link DnaKey} a la columna binaria {@code dna_key}. Hibernate también lo aplica a los
+ * parámetros de las consultas derivadas, de modo que las búsquedas comparan bytes y no texto.
+ */
+@Converter
+public class DnaKeyConverter implements AttributeConverter<DnaKey, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(DnaKey key) {
+        return key == null ? null : key.bytes();
+    }
+
+    @Override
+    public DnaKey convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : new DnaKey(bytes);
+    }
+}
@@ -9,12 +9,12 @@ import java.time.LocalDateTime;
 
 /**
  * Entidad JPA que representa un registro de ADN verificado en la base de datos.
- * Cada registro almacena el hash del ADN para una rápida búsqueda y deduplicación,
+ * Cada registro almacena el hash del ADN (en binario, ver {@link DnaKey}) para una rápida búsqueda y deduplicación,
  * el resultado de la verificación (si es mutante o no) y la fecha de creación.
  */
 @Entity
 @Table(name = "dna_records", indexes = {
-        @Index(name = "idx_dna_hash", columnList = "dna_hash", unique = true),
+        @Index(name = "idx_dna_key", columnList = "dna_key", unique = true),
         @Index(name = "idx_is_mutant", columnList = "is_mutant")
 })
 @Getter
@@ -26,8 +26,9 @@ public class DnaRecord {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "dna_hash", unique = true, nullable = false, length = 64)
-    private String dnaHash;
+    @Column(name = "dna_key", unique = true, nullable = false, length = DnaKey.MAX_LENGTH)
+    @Convert(converter = DnaKeyConverter.class)
+    private DnaKey dnaKey;
 
     @Column(name = "is_mutant", nullable = false)
     private boolean isMutant;
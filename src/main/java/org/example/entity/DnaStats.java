@@ -0,0 +1,40 @@
+package org.example.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA con los totales pre-agregados de {@code dna_records}: una única fila
+ * ({@link #SUMMARY_ID}) con la cantidad de ADNs mutantes y humanos.
+ * Se actualiza en la misma transacción que cada inserción en {@code dna_records}
+ * (ver {@code DnaRecordBatchRepositoryImpl}), por lo que {@code GET /stats} lee una sola fila.
+ */
+@Entity
+@Table(name = "dna_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DnaStats {
+
+    /** Id de la única fila de la tabla. */
+    public static final long SUMMARY_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "mutant_count", nullable = false)
+    private long mutantCount;
+
+    @Column(name = "human_count", nullable = false)
+    private long humanCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -4,11 +4,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -27,6 +29,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(resp);
     }
 
+    @ExceptionHandler(InvalidDnaException.class)
+    public ResponseEntity<Map<String,Object>> handleInvalidDna(InvalidDnaException ex) {
+        Map<String,Object> resp = new HashMap<>();
+        resp.put("error", "validation_failed");
+        resp.put("details", ex.getDetails());
+        return ResponseEntity.badRequest().body(resp);
+    }
+
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<Map<String,Object>> handleInvalidParameter(InvalidRequestParameterException ex) {
+        Map<String,Object> resp = new HashMap<>();
+        resp.put("error", "validation_failed");
+        resp.put("details", ex.getDetails());
+        return ResponseEntity.badRequest().body(resp);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String,Object>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        Map<String,Object> resp = new HashMap<>();
+        resp.put("error", "validation_failed");
+        String expected = ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "otro tipo";
+        resp.put("details", List.of(ex.getName() + ": El parámetro '" + ex.getName() + "' no admite el valor '"
+                + ex.getValue() + "' (se espera " + expected + ")."));
+        return ResponseEntity.badRequest().body(resp);
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Map<String,Object>> handleConstraintViolation(ConstraintViolationException ex) {
         Map<String,Object> resp = new HashMap<>();
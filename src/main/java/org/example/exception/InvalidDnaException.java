@@ -0,0 +1,25 @@
+package org.example.exception;
+
+import java.util.List;
+
+/**
+ * Excepción que se lanza cuando el ADN de una petición no supera la validación hecha durante
+ * el parseo del cuerpo (ver {@code DnaRequestMessageConverter}). Se responde con el mismo
+ * formato {@code validation_failed} que los errores de Bean Validation.
+ */
+public class InvalidDnaException extends RuntimeException {
+
+    private final String field;
+
+    public InvalidDnaException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    /**
+     * @return Los detalles en el formato {@code "campo: mensaje"}.
+     */
+    public List<String> getDetails() {
+        return List.of(field + ": " + getMessage());
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.exception;
+
+import java.util.List;
+
+/**
+ * Excepción que se lanza cuando un parámetro de la petición (query string o header) tiene un valor
+ * fuera de lo admitido. Se responde con el mismo formato {@code validation_failed} que los errores
+ * de Bean Validation.
+ */
+public class InvalidRequestParameterException extends RuntimeException {
+
+    private final String parameter;
+
+    public InvalidRequestParameterException(String parameter, String message) {
+        super(message);
+        this.parameter = parameter;
+    }
+
+    /**
+     * @return Los detalles en el formato {@code "parámetro: mensaje"}.
+     */
+    public List<String> getDetails() {
+        return List.of(parameter + ": " + getMessage());
+    }
+}
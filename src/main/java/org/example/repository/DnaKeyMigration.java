@@ -0,0 +1,73 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migra el esquema anterior, con el hash en texto hexadecimal ({@code dna_hash VARCHAR(64)}),
+ * a la columna binaria {@code dna_key VARBINARY(32)}.
+ * <p>
+ * Corre antes de que Hibernate aplique {@code ddl-auto=update}, porque Hibernate no puede agregar una
+ * columna {@code NOT NULL} a una tabla con filas. Los pasos son idempotentes: si el proceso se
+ * interrumpe, el siguiente arranque continúa con las filas que quedaron sin convertir.
+ * Sobre un esquema nuevo (o ya migrado) no hace nada.
+ */
+@Slf4j
+public class DnaKeyMigration implements InitializingBean {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DnaKeyMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!hasColumn("DNA_HASH")) {
+            return;
+        }
+
+        log.info("Migrando dna_records.dna_hash (hexadecimal) a dna_key (binario)");
+        if (!hasColumn("DNA_KEY")) {
+            jdbcTemplate.execute("ALTER TABLE dna_records ADD COLUMN dna_key VARBINARY(" + DnaKey.MAX_LENGTH + ")");
+        }
+
+        // Conversión por páginas de id para no cargar toda la tabla en memoria
+        long lastId = 0;
+        long migrated = 0;
+        while (true) {
+            List<Object[]> page = jdbcTemplate.query(
+                    "SELECT id, dna_hash FROM dna_records WHERE id > ? AND dna_key IS NULL ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{DnaKey.fromHex(rs.getString(2)).bytes(), rs.getLong(1)},
+                    lastId, BATCH_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate("UPDATE dna_records SET dna_key = ? WHERE id = ?", new ArrayList<>(page));
+            lastId = (Long) page.get(page.size() - 1)[1];
+            migrated += page.size();
+        }
+
+        jdbcTemplate.execute("ALTER TABLE dna_records ALTER COLUMN dna_key SET NOT NULL");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_dna_hash");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_dna_key ON dna_records(dna_key)");
+        jdbcTemplate.execute("ALTER TABLE dna_records DROP COLUMN dna_hash");
+        log.info("Migración de dna_key completada: {} registros convertidos", migrated);
+    }
+
+    private boolean hasColumn(String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE UPPER(TABLE_NAME) = 'DNA_RECORDS' AND UPPER(COLUMN_NAME) = ?",
+                Integer.class, column);
+        return count != null && count > 0;
+    }
+}
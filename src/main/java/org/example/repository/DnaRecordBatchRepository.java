@@ -0,0 +1,40 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones sobre {@link DnaRecord} que no se pueden expresar con Spring Data JPA.
+ * Con {@code GenerationType.IDENTITY} Hibernate no agrupa los INSERT, por lo que se usan
+ * sentencias JDBC en batch. Todas las inserciones, incluida {@link #save(DnaRecord)}, mantienen
+ * la fila de totales de {@code dna_stats} en la misma transacción.
+ */
+public interface DnaRecordBatchRepository {
+
+    /**
+     * Reemplaza el {@code save} de Spring Data: guarda el registro y, si es nuevo, incrementa
+     * los totales de {@code dna_stats} en la misma transacción.
+     *
+     * @param record El registro a guardar.
+     * @return El registro guardado.
+     */
+    <S extends DnaRecord> S save(S record);
+
+    /**
+     * Inserta los registros con un JDBC batch. Los registros cuyo hash ya existe se omiten.
+     *
+     * @param records Registros nuevos (sin id).
+     * @return Un array paralelo a {@code records} que indica qué registros se insertaron.
+     */
+    boolean[] insertAll(List<DnaRecord> records);
+
+    /**
+     * Recorre todas las claves de la tabla sin cargar las entidades, leyendo el resultado en bloques.
+     *
+     * @param consumer Recibe cada clave.
+     */
+    void forEachDnaKey(Consumer<DnaKey> consumer);
+}
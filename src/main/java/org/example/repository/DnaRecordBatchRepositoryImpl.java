@@ -0,0 +1,128 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+import org.example.entity.DnaStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementación JDBC de {@link DnaRecordBatchRepository}, incorporada por Spring Data
+ * como fragmento de {@link DnaRecordRepository}.
+ * <p>
+ * Con {@code mutant.stats.table.enabled=true}, cada inserción incrementa la fila de {@code dna_stats}
+ * en la misma transacción: si el INSERT falla (por ejemplo, por un hash duplicado), el incremento
+ * también se revierte.
+ */
+class DnaRecordBatchRepositoryImpl implements DnaRecordBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO dna_records (dna_key, is_mutant, created_at) VALUES (?, ?, ?)";
+    private static final String SELECT_KEYS_SQL = "SELECT dna_key FROM dna_records";
+    private static final String INCREMENT_STATS_SQL =
+            "UPDATE dna_stats SET mutant_count = mutant_count + ?, human_count = human_count + ?, updated_at = ?"
+                    + " WHERE id = " + DnaStats.SUMMARY_ID;
+    private static final int BATCH_SIZE = 500;
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean statsTableEnabled;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    DnaRecordBatchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${mutant.stats.table.enabled:false}") boolean statsTableEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.statsTableEnabled = statsTableEnabled;
+    }
+
+    @Override
+    public <S extends DnaRecord> S save(S record) {
+        return transactionTemplate.execute(status -> {
+            if (record.getId() != null) {
+                return entityManager.merge(record);
+            }
+            // Con GenerationType.IDENTITY el INSERT se ejecuta en persist, antes del incremento.
+            entityManager.persist(record);
+            incrementStats(record.isMutant() ? 1 : 0, record.isMutant() ? 0 : 1);
+            return record;
+        });
+    }
+
+    @Override
+    public boolean[] insertAll(List<DnaRecord> records) {
+        boolean[] inserted = new boolean[records.size()];
+        if (records.isEmpty()) {
+            return inserted;
+        }
+
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            // Todo el lote en una transacción: si algún hash ya existe, no queda nada a medias.
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, records, BATCH_SIZE, (ps, record) -> bind(ps, record, now));
+                long mutants = records.stream().filter(DnaRecord::isMutant).count();
+                incrementStats(mutants, records.size() - mutants);
+            });
+            Arrays.fill(inserted, true);
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición insertó alguno de los hashes: se reintenta de a uno para omitir solo esos.
+            for (int i = 0; i < records.size(); i++) {
+                final DnaRecord record = records.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, record, now));
+                        incrementStats(record.isMutant() ? 1 : 0, record.isMutant() ? 0 : 1);
+                    });
+                    inserted[i] = true;
+                } catch (DataIntegrityViolationException duplicate) {
+                    inserted[i] = false;
+                }
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public void forEachDnaKey(Consumer<DnaKey> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_KEYS_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, rs -> {
+            consumer.accept(new DnaKey(rs.getBytes(1)));
+        });
+    }
+
+    /**
+     * Suma los registros insertados a la fila de {@code dna_stats}, dentro de la transacción del INSERT.
+     * Si la fila todavía no existe no se actualiza nada; {@code DnaStatsTable} la crea contando la tabla.
+     */
+    private void incrementStats(long mutants, long humans) {
+        if (statsTableEnabled) {
+            jdbcTemplate.update(INCREMENT_STATS_SQL, mutants, humans, Timestamp.valueOf(LocalDateTime.now()));
+        }
+    }
+
+    private static void bind(PreparedStatement ps, DnaRecord record, Timestamp createdAt) throws SQLException {
+        ps.setBytes(1, record.getDnaKey().bytes());
+        ps.setBoolean(2, record.isMutant());
+        ps.setTimestamp(3, createdAt);
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.repository;
 
+import org.example.entity.DnaKey;
 import org.example.entity.DnaRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -11,16 +14,24 @@ import java.util.Optional;
  * Proporciona métodos CRUD básicos y permite definir consultas personalizadas.
  */
 @Repository
-public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long> {
+public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long>, DnaRecordBatchRepository {
 
     /**
-     * Busca un registro de ADN por su hash SHA-256.
+     * Busca un registro de ADN por su hash binario.
      * Se utiliza para verificar si una secuencia de ADN ya ha sido analizada.
      *
-     * @param dnaHash El hash del ADN.
+     * @param dnaKey El hash del ADN.
      * @return Un {@link Optional} que contiene el {@link DnaRecord} si se encuentra.
      */
-    Optional<DnaRecord> findByDnaHash(String dnaHash);
+    Optional<DnaRecord> findByDnaKey(DnaKey dnaKey);
+
+    /**
+     * Busca en una sola consulta ({@code IN}) los registros de ADN de varios hashes.
+     *
+     * @param dnaKeys Los hashes a buscar.
+     * @return Los registros encontrados; los hashes desconocidos no aparecen en el resultado.
+     */
+    List<DnaRecord> findByDnaKeyIn(Collection<DnaKey> dnaKeys);
 
     /**
      * Cuenta la cantidad de registros de ADN que son mutantes o humanos.
@@ -0,0 +1,30 @@
+package org.example.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.entity.DnaStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositorio de Spring Data JPA para la fila de totales de {@code dna_stats}.
+ * Los incrementos por inserción se hacen con JDBC junto al INSERT (ver {@link DnaRecordBatchRepository}).
+ */
+@Repository
+public interface DnaStatsRepository extends JpaRepository<DnaStats, Long> {
+
+    /**
+     * Lee la fila de totales bloqueándola ({@code SELECT ... FOR UPDATE}) hasta el fin de la transacción,
+     * de modo que las inserciones concurrentes esperan a que termine una reconstrucción.
+     *
+     * @param id El id de la fila ({@link DnaStats#SUMMARY_ID}).
+     * @return La fila, si existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from DnaStats s where s.id = :id")
+    Optional<DnaStats> findByIdForUpdate(@Param("id") Long id);
+}
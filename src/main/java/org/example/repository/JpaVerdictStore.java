@@ -0,0 +1,75 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * {@link VerdictStore} sobre la tabla {@code dna_records} ({@code mutant.store.type=JPA}, por defecto).
+ * Las inserciones mantienen la fila de {@code dna_stats} como antes (ver {@link DnaRecordBatchRepository}).
+ */
+@Component
+@ConditionalOnProperty(name = "mutant.store.type", havingValue = "JPA", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaVerdictStore implements VerdictStore {
+
+    private final DnaRecordRepository dnaRecordRepository;
+
+    @Override
+    public Optional<Boolean> findVerdict(DnaKey dnaKey) {
+        return dnaRecordRepository.findByDnaKey(dnaKey).map(DnaRecord::isMutant);
+    }
+
+    @Override
+    public Map<DnaKey, Boolean> findVerdicts(Collection<DnaKey> dnaKeys) {
+        Map<DnaKey, Boolean> verdicts = new LinkedHashMap<>();
+        for (DnaRecord record : dnaRecordRepository.findByDnaKeyIn(dnaKeys)) {
+            verdicts.put(record.getDnaKey(), record.isMutant());
+        }
+        return verdicts;
+    }
+
+    /**
+     * @return {@code false} si el INSERT violó el índice único: otra petición insertó el mismo ADN
+     * entre la búsqueda y el guardado.
+     */
+    @Override
+    public boolean insert(DnaRecord record) {
+        try {
+            dnaRecordRepository.save(record);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean[] insertAll(List<DnaRecord> records) {
+        return dnaRecordRepository.insertAll(records);
+    }
+
+    @Override
+    public long count() {
+        return dnaRecordRepository.count();
+    }
+
+    @Override
+    public long countByVerdict(boolean mutant) {
+        return dnaRecordRepository.countByIsMutant(mutant);
+    }
+
+    @Override
+    public void forEachDnaKey(Consumer<DnaKey> consumer) {
+        dnaRecordRepository.forEachDnaKey(consumer);
+    }
+}
@@ -0,0 +1,480 @@
+package org.example.repository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * {@link VerdictStore} en archivos propios ({@code mutant.store.type=LOG}): un log de solo agregado con
+ * un registro por clave y un {@link VerdictIndex} mapeado en memoria para buscarlas.
+ * <p>
+ * Cada registro del log ocupa {@code largo de la clave + 6} bytes: el largo, el veredicto, la clave y un
+ * CRC32 de los anteriores. Una inserción escribe primero el registro en el log y después ocupa la ranura
+ * del índice; las búsquedas solo leen el índice, sin locks ni accesos a disco. Las escrituras se
+ * serializan con un {@link ReentrantLock} y no con {@code synchronized}: la escritura y el {@code fsync}
+ * se hacen con el lock tomado, y un hilo virtual bloqueado en un monitor fija su hilo portador.
+ * <p>
+ * <b>Recuperación:</b> al cerrar la aplicación el índice se fuerza a disco y se marca limpio. Al abrir,
+ * si la marca falta o el log no mide lo que el índice cubre (caída del proceso o de la máquina), el índice
+ * se reconstruye releyendo el log; un registro final incompleto o con CRC inválido, seguido a lo sumo de
+ * ceros (páginas que el sistema no llegó a escribir), se descarta truncando el log. Un registro inválido
+ * seguido de otros datos es corrupción en medio del log: el almacén no abre, en lugar de descartar los
+ * registros válidos que le siguen. Con {@code mutant.store.log.fsync=false} una caída del proceso no pierde
+ * registros (ya están en la caché de páginas del sistema), pero una caída de la máquina puede perder los
+ * últimos.
+ * <p>
+ * <b>Compactación:</b> {@link #compact()} se ejecuta cada {@code mutant.store.log.compact-interval-ms}.
+ * Si el log tiene registros duplicados (por ejemplo, al concatenar los logs de varias instancias) lo
+ * reescribe con uno por clave, y si el índice pasó la mitad de su capacidad lo reconstruye con el doble,
+ * fuera del camino de las peticiones. El índice también crece durante una inserción si llega a 3/4.
+ * <p>
+ * Memoria: {@value VerdictIndex#SLOT_BYTES} bytes por ranura del índice (entre 45 y 136 bytes por clave
+ * según la carga), mapeados desde el archivo; el log ocupa 38 bytes por clave SHA-256 en disco.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mutant.store.type", havingValue = "LOG")
+public class LogVerdictStore implements VerdictStore {
+
+    static final String LOG_FILE = "verdicts.log";
+    static final String INDEX_FILE = "verdicts.idx";
+
+    /** Factor de carga a partir del cual la compactación periódica agranda el índice. */
+    static final double COMPACT_LOAD_FACTOR = 0.5;
+    /** Factor de carga a partir del cual una inserción agranda el índice. */
+    static final double MAX_LOAD_FACTOR = 0.75;
+
+    private static final int MIN_KEY_LENGTH = Long.BYTES;
+    private static final int ENTRY_OVERHEAD = 2 + Integer.BYTES;
+    private static final int READ_BUFFER_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final Path logFile;
+    private final Path indexFile;
+    private final int initialCapacity;
+    private final boolean fsync;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private FileChannel logChannel;
+    private volatile VerdictIndex index;
+    private volatile long size;
+    private volatile long mutants;
+    private long logLength;
+    private long duplicateEntries;
+
+    public LogVerdictStore(@Value("${mutant.store.log.directory:data/verdicts}") Path directory,
+                           @Value("${mutant.store.log.initial-capacity:65536}") int initialCapacity,
+                           @Value("${mutant.store.log.fsync:false}") boolean fsync) {
+        this.directory = directory;
+        this.logFile = directory.resolve(LOG_FILE);
+        this.indexFile = directory.resolve(INDEX_FILE);
+        this.initialCapacity = VerdictIndex.capacityFor(initialCapacity, 1.0);
+        this.fsync = fsync;
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el almacén de veredictos en " + directory, e);
+        }
+    }
+
+    @Override
+    public Optional<Boolean> findVerdict(DnaKey dnaKey) {
+        final VerdictIndex current = index;
+        final int slot = current.find(validKey(dnaKey));
+        return slot < 0 ? Optional.empty() : Optional.of(current.verdict(slot));
+    }
+
+    @Override
+    public Map<DnaKey, Boolean> findVerdicts(Collection<DnaKey> dnaKeys) {
+        final VerdictIndex current = index;
+        Map<DnaKey, Boolean> verdicts = new LinkedHashMap<>();
+        for (DnaKey dnaKey : dnaKeys) {
+            final int slot = current.find(validKey(dnaKey));
+            if (slot >= 0) {
+                verdicts.put(dnaKey, current.verdict(slot));
+            }
+        }
+        return verdicts;
+    }
+
+    @Override
+    public boolean insert(DnaRecord record) {
+        return insertAll(List.of(record))[0];
+    }
+
+    /**
+     * Agrega los registros nuevos al log con una sola escritura (y un solo {@code fsync}) y después los
+     * publica en el índice.
+     */
+    @Override
+    public boolean[] insertAll(List<DnaRecord> records) {
+        writeLock.lock();
+        try {
+            return appendNew(records);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean[] appendNew(List<DnaRecord> records) {
+        final boolean[] inserted = new boolean[records.size()];
+        final Set<DnaKey> batchKeys = new HashSet<>();
+        int newEntries = 0;
+        int newBytes = 0;
+        for (int i = 0; i < records.size(); i++) {
+            final DnaKey dnaKey = records.get(i).getDnaKey();
+            if (index.find(validKey(dnaKey)) < 0 && batchKeys.add(dnaKey)) {
+                inserted[i] = true;
+                newEntries++;
+                newBytes += dnaKey.length() + ENTRY_OVERHEAD;
+            }
+        }
+        if (newEntries == 0) {
+            return inserted;
+        }
+        if (size + newEntries > VerdictIndex.MAX_CAPACITY * MAX_LOAD_FACTOR) {
+            throw storeFull();
+        }
+
+        final ByteBuffer entries = ByteBuffer.allocate(newBytes);
+        for (int i = 0; i < records.size(); i++) {
+            if (inserted[i]) {
+                putEntry(entries, records.get(i).getDnaKey().bytes(), records.get(i).isMutant());
+            }
+        }
+        try {
+            writeFully(logChannel, entries.flip(), logLength);
+            if (fsync) {
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el log de veredictos", e);
+        }
+        logLength += newBytes;
+
+        if (size + newEntries > index.capacity() * MAX_LOAD_FACTOR) {
+            resize(VerdictIndex.capacityFor(size + newEntries, COMPACT_LOAD_FACTOR));
+        }
+        for (int i = 0; i < records.size(); i++) {
+            if (inserted[i]) {
+                publish(index, records.get(i).getDnaKey().bytes(), records.get(i).isMutant());
+            }
+        }
+        index.setTotals(size, mutants, logLength);
+        return inserted;
+    }
+
+    @Override
+    public long count() {
+        return size;
+    }
+
+    @Override
+    public long countByVerdict(boolean mutant) {
+        final long mutantCount = mutants;
+        return mutant ? mutantCount : size - mutantCount;
+    }
+
+    @Override
+    public void forEachDnaKey(Consumer<DnaKey> consumer) {
+        index.forEach((key, verdict) -> consumer.accept(new DnaKey(key)));
+    }
+
+    /**
+     * Reescribe el log sin duplicados y agranda el índice si pasó {@link #COMPACT_LOAD_FACTOR}.
+     *
+     * @return {@code true} si hubo algo que compactar.
+     */
+    @Scheduled(initialDelayString = "${mutant.store.log.compact-interval-ms:600000}",
+            fixedDelayString = "${mutant.store.log.compact-interval-ms:600000}")
+    public boolean compact() {
+        writeLock.lock();
+        try {
+            return compactLocked();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean compactLocked() {
+        final boolean rewriteLog = duplicateEntries > 0;
+        final boolean growIndex = size > index.capacity() * COMPACT_LOAD_FACTOR
+                && index.capacity() < VerdictIndex.MAX_CAPACITY;
+        if (!rewriteLog && !growIndex) {
+            return false;
+        }
+        try {
+            if (rewriteLog) {
+                rewriteLog();
+            }
+            if (growIndex) {
+                resize(VerdictIndex.capacityFor(size, COMPACT_LOAD_FACTOR / 2));
+            }
+            index.setTotals(size, mutants, logLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo compactar el almacén de veredictos", e);
+        }
+        return true;
+    }
+
+    /**
+     * Fuerza el log y el índice a disco y marca el índice como cerrado limpiamente.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (!logChannel.isOpen()) {
+                return;
+            }
+            logChannel.force(true);
+            logChannel.close();
+            index.setTotals(size, mutants, logLength);
+            index.markClean(true);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        logChannel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long actualLength = logChannel.size();
+
+        final VerdictIndex existing = VerdictIndex.open(indexFile);
+        if (existing != null && existing.isClean() && existing.logLength() == actualLength) {
+            index = existing;
+            size = existing.size();
+            mutants = existing.mutants();
+            logLength = actualLength;
+        } else {
+            if (actualLength > 0) {
+                log.warn("El índice de veredictos no se cerró limpiamente; se reconstruye desde {}", logFile);
+            }
+            replay();
+        }
+        index.markClean(false);
+        log.info("Almacén de veredictos abierto en {}: {} claves, índice de {} ranuras", directory, size,
+                index.capacity());
+    }
+
+    /**
+     * Reconstruye el índice leyendo el log desde el principio. Si el primer registro inválido es una cola
+     * rota (ver {@link #isTornTail}) trunca el log ahí; si no, falla sin tocar el log.
+     */
+    private void replay() throws IOException {
+        index = VerdictIndex.create(indexFile, initialCapacity);
+        size = 0;
+        mutants = 0;
+        duplicateEntries = 0;
+
+        final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        final byte[] crcInput = new byte[DnaKey.MAX_LENGTH + 2];
+        final CRC32 crc = new CRC32();
+        long readPosition = 0;
+        long valid = 0;
+        boolean corrupt = false;
+        // Largo del registro inválido según su cabecera, o 0 si la cabecera misma es inválida.
+        int corruptLength = 0;
+        while (!corrupt) {
+            final int read = logChannel.read(buffer, readPosition);
+            if (read > 0) {
+                readPosition += read;
+            }
+            buffer.flip();
+            // Registro: largo (1), veredicto (1), clave (largo), CRC32 (4)
+            while (buffer.remaining() >= 2) {
+                final int keyLength = buffer.get(buffer.position());
+                final int flags = buffer.get(buffer.position() + 1);
+                if (keyLength < MIN_KEY_LENGTH || keyLength > DnaKey.MAX_LENGTH || (flags & ~1) != 0) {
+                    corrupt = true;
+                    break;
+                }
+                if (buffer.remaining() < keyLength + ENTRY_OVERHEAD) {
+                    break;
+                }
+                buffer.get(crcInput, 0, keyLength + 2);
+                final int storedCrc = buffer.getInt();
+                crc.reset();
+                crc.update(crcInput, 0, keyLength + 2);
+                if ((int) crc.getValue() != storedCrc) {
+                    corrupt = true;
+                    corruptLength = keyLength + ENTRY_OVERHEAD;
+                    break;
+                }
+                final byte[] key = new byte[keyLength];
+                System.arraycopy(crcInput, 2, key, 0, keyLength);
+                if (size + 1 > index.capacity() * MAX_LOAD_FACTOR) {
+                    if (index.capacity() >= VerdictIndex.MAX_CAPACITY) {
+                        throw storeFull();
+                    }
+                    resize(index.capacity() * 2);
+                }
+                if (index.find(key) >= 0) {
+                    duplicateEntries++;
+                } else {
+                    publish(index, key, flags == 1);
+                }
+                valid += keyLength + ENTRY_OVERHEAD;
+            }
+            buffer.compact();
+            if (read < 0) {
+                // Fin del log: lo que queda en el buffer es un registro incompleto.
+                break;
+            }
+        }
+
+        final long actualLength = logChannel.size();
+        if (corrupt && !isTornTail(valid, corruptLength, actualLength)) {
+            throw new IOException("Registro corrupto en la posición " + valid + " de " + logFile
+                    + ", seguido de " + (actualLength - valid) + " bytes; se necesita revisar el log a mano");
+        }
+        if (valid < actualLength) {
+            log.warn("Se descartan {} bytes incompletos o corruptos al final de {}", actualLength - valid, logFile);
+            logChannel.truncate(valid);
+            logChannel.force(true);
+        }
+        logLength = valid;
+        index.setTotals(size, mutants, logLength);
+    }
+
+    /**
+     * Indica si el registro inválido en {@code position} es la cola rota de una escritura interrumpida: después
+     * de él (o desde él, si su cabecera es inválida) solo quedan ceros hasta el final del log, es decir,
+     * páginas que el sistema extendió pero no escribió antes de una caída de la máquina.
+     */
+    private boolean isTornTail(long position, int recordLength, long actualLength) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        long readPosition = position + recordLength;
+        while (readPosition < actualLength) {
+            buffer.clear();
+            final int read = logChannel.read(buffer, readPosition);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) != 0) {
+                    return false;
+                }
+            }
+            readPosition += read;
+        }
+        return true;
+    }
+
+    private static IllegalStateException storeFull() {
+        return new IllegalStateException("El almacén de veredictos llegó a su máximo de "
+                + (long) (VerdictIndex.MAX_CAPACITY * MAX_LOAD_FACTOR) + " claves");
+    }
+
+    /**
+     * Escribe un log nuevo con un registro por clave del índice y lo reemplaza de forma atómica.
+     */
+    private void rewriteLog() throws IOException {
+        final Path compacted = directory.resolve(LOG_FILE + ".compact");
+        final long[] written = {0};
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            final IOException[] failure = {null};
+            index.forEach((key, verdict) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    if (buffer.remaining() < key.length + ENTRY_OVERHEAD) {
+                        written[0] += writeFully(out, buffer.flip(), written[0]);
+                        buffer.clear();
+                    }
+                    putEntry(buffer, key, verdict);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            written[0] += writeFully(out, buffer.flip(), written[0]);
+            out.force(true);
+        }
+        logChannel.close();
+        Files.move(compacted, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logChannel = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        duplicateEntries = 0;
+        logLength = written[0];
+    }
+
+    /**
+     * Copia las claves a un índice nuevo con otra capacidad y lo publica. Las lecturas en curso terminan
+     * sobre el índice anterior, que sigue mapeado aunque su archivo se haya reemplazado.
+     */
+    private void resize(int capacity) {
+        try {
+            final Path resized = directory.resolve(INDEX_FILE + ".resize");
+            final VerdictIndex next = VerdictIndex.create(resized, capacity);
+            index.forEach((key, verdict) -> next.put(-next.find(key) - 1, key, verdict));
+            next.setTotals(size, mutants, logLength);
+            Files.move(resized, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index = next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo agrandar el índice de veredictos", e);
+        }
+    }
+
+    private void publish(VerdictIndex target, byte[] key, boolean mutant) {
+        target.put(-target.find(key) - 1, key, mutant);
+        size++;
+        if (mutant) {
+            mutants++;
+        }
+    }
+
+    private static void putEntry(ByteBuffer buffer, byte[] key, boolean mutant) {
+        final int start = buffer.position();
+        buffer.put((byte) key.length).put((byte) (mutant ? 1 : 0)).put(key);
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, key.length + 2);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        final int bytes = buffer.remaining();
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+        return bytes;
+    }
+
+    private static byte[] validKey(DnaKey dnaKey) {
+        final byte[] key = dnaKey.bytes();
+        if (key.length < MIN_KEY_LENGTH || key.length > DnaKey.MAX_LENGTH) {
+            throw new IllegalArgumentException("Largo de clave de ADN no soportado: " + key.length);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+
+/**
+ * Tabla hash de direccionamiento abierto (sondeo lineal) mapeada en memoria desde un archivo, usada como
+ * índice de {@link LogVerdictStore}.
+ * <p>
+ * Cada ranura ocupa {@value #SLOT_BYTES} bytes: la clave completa (rellenada con ceros hasta
+ * {@link DnaKey#MAX_LENGTH}), su largo y el veredicto. Un largo cero indica una ranura libre. Como la
+ * clave ya es un digest uniforme, sus primeros 8 bytes se usan directamente como hash. La cabecera
+ * guarda la capacidad, los totales y el largo del log que el índice cubre, junto con una marca de cierre
+ * limpio que permite reutilizar el índice al reiniciar sin releer el log.
+ * <p>
+ * Las escrituras las serializa {@link LogVerdictStore}; las lecturas no toman ningún lock. Al ocupar una
+ * ranura se escribe primero la clave y el veredicto, y el largo al final detrás de una barrera, así que
+ * un lector que ve el largo también ve la clave completa.
+ */
+final class VerdictIndex {
+
+    static final int SLOT_BYTES = DnaKey.MAX_LENGTH + 2;
+
+    /** Capacidad máxima: el archivo completo tiene que caber en un único {@link MappedByteBuffer}. */
+    static final int MAX_CAPACITY = 1 << 25;
+
+    private static final int MAGIC = 0x444E_4156; // "DNAV"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int CLEAN_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int MUTANTS_OFFSET = 24;
+    private static final int LOG_LENGTH_OFFSET = 32;
+
+    private static final int LENGTH_OFFSET = DnaKey.MAX_LENGTH;
+    private static final int VERDICT_OFFSET = DnaKey.MAX_LENGTH + 1;
+
+    private static final VarHandle KEY_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+
+    private VerdictIndex(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Crea un índice vacío, reemplazando el archivo si existe.
+     *
+     * @param capacity Cantidad de ranuras (potencia de 2, hasta {@link #MAX_CAPACITY}).
+     */
+    static VerdictIndex create(Path file, int capacity) throws IOException {
+        if (Integer.bitCount(capacity) != 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("La capacidad del índice debe ser una potencia de 2 hasta "
+                    + MAX_CAPACITY + ": " + capacity);
+        }
+        Files.deleteIfExists(file);
+        final VerdictIndex index = new VerdictIndex(map(file, bytesFor(capacity)), capacity);
+        index.buffer.putInt(MAGIC_OFFSET, MAGIC);
+        index.buffer.putInt(VERSION_OFFSET, VERSION);
+        index.buffer.putInt(CAPACITY_OFFSET, capacity);
+        return index;
+    }
+
+    /**
+     * Abre un índice existente.
+     *
+     * @return El índice, o {@code null} si el archivo no existe o no es un índice válido.
+     */
+    static VerdictIndex open(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_BYTES) {
+            return null;
+        }
+        final MappedByteBuffer buffer = map(file, Files.size(file));
+        final int capacity = buffer.getInt(CAPACITY_OFFSET);
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION
+                || Integer.bitCount(capacity) != 1 || capacity > MAX_CAPACITY
+                || buffer.capacity() != bytesFor(capacity)) {
+            return null;
+        }
+        return new VerdictIndex(buffer, capacity);
+    }
+
+    /**
+     * @return La menor capacidad que mantiene {@code entries} claves por debajo del factor de carga indicado.
+     */
+    static int capacityFor(long entries, double loadFactor) {
+        final long needed = Math.max(2, (long) Math.ceil(entries / loadFactor));
+        final long capacity = Long.highestOneBit(needed - 1) << 1;
+        return (int) Math.min(capacity, MAX_CAPACITY);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Busca la ranura de una clave.
+     *
+     * @return La ranura de la clave si está, o {@code -(ranura libre) - 1} donde insertarla.
+     * @throws IllegalStateException si el índice está lleno.
+     */
+    int find(byte[] key) {
+        int slot = (int) ((long) KEY_LONGS.get(key, 0)) & mask;
+        for (int probes = 0; probes < capacity; probes++) {
+            final int base = HEADER_BYTES + slot * SLOT_BYTES;
+            final int length = buffer.get(base + LENGTH_OFFSET);
+            if (length == 0) {
+                return -slot - 1;
+            }
+            // Empareja la barrera de put(): si se ve el largo, la clave ya está escrita.
+            VarHandle.acquireFence();
+            if (length == key.length && matches(base, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        throw new IllegalStateException("Índice de veredictos lleno (" + capacity + " ranuras)");
+    }
+
+    boolean verdict(int slot) {
+        return buffer.get(HEADER_BYTES + slot * SLOT_BYTES + VERDICT_OFFSET) != 0;
+    }
+
+    /**
+     * Ocupa una ranura libre devuelta por {@link #find(byte[])}.
+     */
+    void put(int slot, byte[] key, boolean mutant) {
+        final int base = HEADER_BYTES + slot * SLOT_BYTES;
+        buffer.put(base, key);
+        buffer.put(base + VERDICT_OFFSET, (byte) (mutant ? 1 : 0));
+        VarHandle.releaseFence();
+        buffer.put(base + LENGTH_OFFSET, (byte) key.length);
+    }
+
+    /**
+     * Recorre las ranuras ocupadas en orden de ranura.
+     */
+    void forEach(BiConsumer<byte[], Boolean> consumer) {
+        for (int slot = 0; slot < capacity; slot++) {
+            final int base = HEADER_BYTES + slot * SLOT_BYTES;
+            final int length = buffer.get(base + LENGTH_OFFSET);
+            if (length != 0) {
+                VarHandle.acquireFence();
+                final byte[] key = new byte[length];
+                buffer.get(base, key);
+                consumer.accept(key, buffer.get(base + VERDICT_OFFSET) != 0);
+            }
+        }
+    }
+
+    long size() {
+        return buffer.getLong(SIZE_OFFSET);
+    }
+
+    long mutants() {
+        return buffer.getLong(MUTANTS_OFFSET);
+    }
+
+    long logLength() {
+        return buffer.getLong(LOG_LENGTH_OFFSET);
+    }
+
+    boolean isClean() {
+        return buffer.getInt(CLEAN_OFFSET) != 0;
+    }
+
+    /**
+     * Actualiza los totales y el largo del log cubierto, en memoria.
+     */
+    void setTotals(long size, long mutants, long logLength) {
+        buffer.putLong(SIZE_OFFSET, size);
+        buffer.putLong(MUTANTS_OFFSET, mutants);
+        buffer.putLong(LOG_LENGTH_OFFSET, logLength);
+    }
+
+    /**
+     * Marca el índice como abierto (sucio) o cerrado limpiamente y fuerza la cabecera a disco. Al marcarlo
+     * limpio se fuerza también el resto del archivo, para que un reinicio pueda confiar en su contenido.
+     */
+    void markClean(boolean clean) {
+        buffer.putInt(CLEAN_OFFSET, clean ? 1 : 0);
+        if (clean) {
+            buffer.force();
+        } else {
+            buffer.force(0, HEADER_BYTES);
+        }
+    }
+
+    private boolean matches(int base, byte[] key) {
+        int i = 0;
+        for (; i + Long.BYTES <= key.length; i += Long.BYTES) {
+            if (buffer.getLong(base + i) != (long) KEY_LONGS.get(key, i)) {
+                return false;
+            }
+        }
+        for (; i < key.length; i++) {
+            if (buffer.get(base + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long bytesFor(int capacity) {
+        return HEADER_BYTES + (long) capacity * SLOT_BYTES;
+    }
+
+    /**
+     * Mapea el archivo completo. El archivo nuevo se crea disperso: las ranuras libres no ocupan disco
+     * hasta que se escriben.
+     */
+    private static MappedByteBuffer map(Path file, long bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+}
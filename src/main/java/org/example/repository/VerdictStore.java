@@ -0,0 +1,74 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Almacén de veredictos por clave de ADN que usan {@link org.example.service.MutantService}, el escritor
+ * diferido, el filtro de ADN conocido y los contadores de {@code /stats}.
+ * Se selecciona con {@code mutant.store.type}:
+ * <ul>
+ *     <li>{@code JPA} (por defecto): la tabla {@code dna_records} a través de {@link DnaRecordRepository}
+ *     ({@link JpaVerdictStore}).</li>
+ *     <li>{@code LOG}: un log de solo agregado en disco con un índice hash mapeado en memoria
+ *     ({@link LogVerdictStore}), sin Hibernate ni base de datos en el camino de cada petición.</li>
+ * </ul>
+ * Los veredictos no cambian: cada clave se inserta una sola vez y un segundo intento se informa como
+ * duplicado, igual que con el índice único {@code idx_dna_key}.
+ */
+public interface VerdictStore {
+
+    /**
+     * @param dnaKey La clave del ADN.
+     * @return El veredicto guardado, o vacío si la clave no está.
+     */
+    Optional<Boolean> findVerdict(DnaKey dnaKey);
+
+    /**
+     * Busca varias claves de una vez.
+     *
+     * @param dnaKeys Las claves a buscar.
+     * @return Los veredictos encontrados; las claves desconocidas no aparecen en el resultado.
+     */
+    Map<DnaKey, Boolean> findVerdicts(Collection<DnaKey> dnaKeys);
+
+    /**
+     * Guarda un registro nuevo.
+     *
+     * @param record El registro (clave y veredicto).
+     * @return {@code false} si la clave ya estaba guardada.
+     */
+    boolean insert(DnaRecord record);
+
+    /**
+     * Guarda varios registros nuevos de una vez.
+     *
+     * @param records Registros nuevos.
+     * @return Un array paralelo a {@code records} que indica qué registros se insertaron.
+     */
+    boolean[] insertAll(List<DnaRecord> records);
+
+    /**
+     * @return La cantidad de claves guardadas.
+     */
+    long count();
+
+    /**
+     * @param mutant {@code true} para contar mutantes, {@code false} para contar humanos.
+     * @return La cantidad de claves guardadas con ese veredicto.
+     */
+    long countByVerdict(boolean mutant);
+
+    /**
+     * Recorre todas las claves guardadas.
+     *
+     * @param consumer Recibe cada clave.
+     */
+    void forEachDnaKey(Consumer<DnaKey> consumer);
+}
@@ -0,0 +1,175 @@
+package org.example.service;
+
+/**
+ * Motor de detección sobre una {@link PackedDnaMatrix}.
+ * Compara palabras completas de 32 bases a la vez: para cada carril se obtiene un bit que indica
+ * si en esa columna empieza una secuencia de 4 bases iguales, y los bits se cuentan con
+ * {@link Long#bitCount(long)}. Cuenta exactamente las mismas posiciones de inicio que el motor escalar.
+ */
+final class BitPackedMutantDetector {
+
+    private static final int SEQUENCE_LENGTH = 4;
+
+    /** Bit bajo de cada carril de 2 bits. */
+    private static final long LOW_LANES = 0x5555_5555_5555_5555L;
+
+    private BitPackedMutantDetector() {
+    }
+
+    /**
+     * @param matrix       La matriz empaquetada (ya validada).
+     * @param minSequences Cantidad de secuencias a partir de la cual se corta la búsqueda.
+     * @return El veredicto ({@code true} si se encontraron al menos {@code minSequences} secuencias)
+     * y las celdas recorridas, contando las 32 columnas de cada palabra procesada.
+     */
+    static ScanResult scan(PackedDnaMatrix matrix, int minSequences) {
+        final int n = matrix.size();
+        final int words = matrix.wordsPerRow();
+        final int lastStart = n - SEQUENCE_LENGTH;
+        int sequenceCount = 0;
+
+        for (int row = 0; row < n; row++) {
+            final boolean canGoDown = row <= lastStart;
+            final boolean canGoUp = row >= SEQUENCE_LENGTH - 1;
+
+            for (int i = 0; i < words; i++) {
+                final long current = matrix.word(row, i);
+                final long startMask = validLanes(i, lastStart + 1);
+
+                // Horizontal (→): la fila contra sí misma desplazada 1, 2 y 3 bases
+                long runs = equalLanes(current, matrix.shiftedWord(row, i, 1))
+                        & equalLanes(current, matrix.shiftedWord(row, i, 2))
+                        & equalLanes(current, matrix.shiftedWord(row, i, 3));
+                sequenceCount += Long.bitCount(runs & startMask);
+
+                if (canGoDown) {
+                    // Vertical (↓): misma palabra de las 3 filas siguientes
+                    runs = equalLanes(current, matrix.word(row + 1, i))
+                            & equalLanes(current, matrix.word(row + 2, i))
+                            & equalLanes(current, matrix.word(row + 3, i));
+                    sequenceCount += Long.bitCount(runs & validLanes(i, n));
+
+                    // Diagonal Descendente (↘)
+                    runs = equalLanes(current, matrix.shiftedWord(row + 1, i, 1))
+                            & equalLanes(current, matrix.shiftedWord(row + 2, i, 2))
+                            & equalLanes(current, matrix.shiftedWord(row + 3, i, 3));
+                    sequenceCount += Long.bitCount(runs & startMask);
+                }
+
+                if (canGoUp) {
+                    // Diagonal Ascendente (↗)
+                    runs = equalLanes(current, matrix.shiftedWord(row - 1, i, 1))
+                            & equalLanes(current, matrix.shiftedWord(row - 2, i, 2))
+                            & equalLanes(current, matrix.shiftedWord(row - 3, i, 3));
+                    sequenceCount += Long.bitCount(runs & startMask);
+                }
+
+                // Early Termination
+                if (sequenceCount >= minSequences) {
+                    final long cellsScanned = (long) row * n + Math.min(n, (i + 1) * PackedDnaMatrix.BASES_PER_WORD);
+                    return new ScanResult(true, cellsScanned);
+                }
+            }
+        }
+
+        return new ScanResult(false, (long) n * n);
+    }
+
+    /**
+     * Igual que {@link #scan(PackedDnaMatrix, int)}, pero además de contar cada secuencia la agrega al
+     * reporte, recorriendo los bits encendidos de cada máscara. Las secuencias quedan ordenadas por fila,
+     * por palabra y por dirección.
+     *
+     * @param maxRuns Cantidad de secuencias a partir de la cual se corta la búsqueda (al menos {@code minSequences}).
+     */
+    static RunReport report(PackedDnaMatrix matrix, int minSequences, int maxRuns) {
+        final int n = matrix.size();
+        final int words = matrix.wordsPerRow();
+        final int lastStart = n - SEQUENCE_LENGTH;
+        final RunReport.Builder report = new RunReport.Builder(maxRuns);
+
+        for (int row = 0; row < n; row++) {
+            final boolean canGoDown = row <= lastStart;
+            final boolean canGoUp = row >= SEQUENCE_LENGTH - 1;
+
+            for (int i = 0; i < words; i++) {
+                final long current = matrix.word(row, i);
+                final long startMask = validLanes(i, lastStart + 1);
+
+                long runs = equalLanes(current, matrix.shiftedWord(row, i, 1))
+                        & equalLanes(current, matrix.shiftedWord(row, i, 2))
+                        & equalLanes(current, matrix.shiftedWord(row, i, 3));
+                if (addRuns(report, row, i, current, runs & startMask, RunReport.RunDirection.HORIZONTAL)) {
+                    return report.build(minSequences);
+                }
+
+                if (canGoDown) {
+                    runs = equalLanes(current, matrix.word(row + 1, i))
+                            & equalLanes(current, matrix.word(row + 2, i))
+                            & equalLanes(current, matrix.word(row + 3, i));
+                    if (addRuns(report, row, i, current, runs & validLanes(i, n), RunReport.RunDirection.VERTICAL)) {
+                        return report.build(minSequences);
+                    }
+
+                    runs = equalLanes(current, matrix.shiftedWord(row + 1, i, 1))
+                            & equalLanes(current, matrix.shiftedWord(row + 2, i, 2))
+                            & equalLanes(current, matrix.shiftedWord(row + 3, i, 3));
+                    if (addRuns(report, row, i, current, runs & startMask, RunReport.RunDirection.DIAGONAL_DOWN)) {
+                        return report.build(minSequences);
+                    }
+                }
+
+                if (canGoUp) {
+                    runs = equalLanes(current, matrix.shiftedWord(row - 1, i, 1))
+                            & equalLanes(current, matrix.shiftedWord(row - 2, i, 2))
+                            & equalLanes(current, matrix.shiftedWord(row - 3, i, 3));
+                    if (addRuns(report, row, i, current, runs & startMask, RunReport.RunDirection.DIAGONAL_UP)) {
+                        return report.build(minSequences);
+                    }
+                }
+            }
+        }
+
+        return report.build(minSequences);
+    }
+
+    /**
+     * Agrega al reporte una secuencia por cada carril encendido de {@code runs}.
+     *
+     * @return {@code true} si el reporte se llenó.
+     */
+    private static boolean addRuns(RunReport.Builder report, int row, int index, long word, long runs,
+                                   RunReport.RunDirection direction) {
+        while (runs != 0) {
+            final int shift = Long.numberOfTrailingZeros(runs);
+            final int col = index * PackedDnaMatrix.BASES_PER_WORD + (shift >>> 1);
+            if (report.add(row, col, direction, (int) (word >>> shift) & 0b11)) {
+                return true;
+            }
+            runs &= runs - 1;
+        }
+        return false;
+    }
+
+    /**
+     * Devuelve el bit bajo de cada carril cuyas bases son iguales en ambas palabras.
+     */
+    private static long equalLanes(long a, long b) {
+        final long diff = a ^ b;
+        return ~(diff | (diff >>> 1)) & LOW_LANES;
+    }
+
+    /**
+     * Máscara de carriles de la palabra {@code index} cuya columna es menor que {@code limit}.
+     */
+    private static long validLanes(int index, int limit) {
+        final int remaining = limit - index * PackedDnaMatrix.BASES_PER_WORD;
+        if (remaining >= PackedDnaMatrix.BASES_PER_WORD) {
+            return LOW_LANES;
+        }
+        if (remaining <= 0) {
+            return 0L;
+        }
+        return LOW_LANES & ((1L << (remaining << 1)) - 1);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.service;
+
+/**
+ * Motores de detección disponibles para {@link MutantDetector}.
+ * Se selecciona con la propiedad {@code mutant.detector.engine}.
+ */
+public enum DetectionEngine {
+
+    /**
+     * Recorrido celda por celda sobre una matriz {@code char[][]} (implementación original).
+     */
+    SCALAR,
+
+    /**
+     * Cada base se empaqueta en 2 bits dentro de palabras {@code long} por fila y las
+     * secuencias se buscan con operaciones bit a bit sobre 32 columnas a la vez.
+     */
+    BIT_PACKED,
+
+    /**
+     * Reparte la matriz en bandas de filas que se recorren en paralelo en un {@link java.util.concurrent.ForkJoinPool}.
+     * Las matrices menores que {@code mutant.detector.parallel-threshold} usan el recorrido escalar.
+     */
+    PARALLEL,
+
+    /**
+     * Solo parte de una celda de cada 4 (columnas 3, 7, 11... para las horizontales y filas 3, 7, 11...
+     * para las demás direcciones), por donde toda secuencia tiene que pasar, y extiende la racha alrededor.
+     */
+    STRIDED,
+
+    /**
+     * Compara de a varias columnas por instrucción con la Vector API incubada ({@code jdk.incubator.vector}).
+     * Requiere arrancar la JVM con {@code --add-modules jdk.incubator.vector}; si no, se usa {@link #SCALAR}.
+     */
+    VECTOR,
+
+    /**
+     * Un solo recorrido por filas que lee cada celda una vez y lleva el largo de la racha que termina en
+     * ella en cada dirección: un contador para la horizontal y uno por columna para la vertical y cada oblicua.
+     */
+    ROLLING
+}
@@ -0,0 +1,36 @@
+package org.example.service;
+
+/**
+ * Criterio de mutante: un ADN es mutante si tiene al menos {@code minSequences} secuencias de
+ * {@code runLength} bases iguales en horizontal, vertical u oblicua.
+ * <p>
+ * El criterio estándar ({@link #DEFAULT}, 4 bases y 2 secuencias) usa el motor configurado y el
+ * camino con caché y persistencia; los demás se evalúan con {@link FlatMutantDetector} (ver
+ * {@link DetectionRules} para elegirlos por petición o por tenant).
+ *
+ * @param runLength    Largo de cada secuencia, entre {@value #MIN_RUN_LENGTH} y {@value #MAX_RUN_LENGTH}.
+ * @param minSequences Secuencias necesarias, entre 1 y {@value #MAX_MIN_SEQUENCES}.
+ */
+public record DetectionRule(int runLength, int minSequences) {
+
+    public static final int MIN_RUN_LENGTH = 2;
+    public static final int MAX_RUN_LENGTH = 64;
+    public static final int MAX_MIN_SEQUENCES = 10_000;
+
+    public static final DetectionRule DEFAULT = new DetectionRule(4, 2);
+
+    public DetectionRule {
+        if (runLength < MIN_RUN_LENGTH || runLength > MAX_RUN_LENGTH) {
+            throw new IllegalArgumentException("El largo de secuencia debe estar entre " + MIN_RUN_LENGTH
+                    + " y " + MAX_RUN_LENGTH + ": " + runLength);
+        }
+        if (minSequences < 1 || minSequences > MAX_MIN_SEQUENCES) {
+            throw new IllegalArgumentException("La cantidad de secuencias debe estar entre 1 y "
+                    + MAX_MIN_SEQUENCES + ": " + minSequences);
+        }
+    }
+
+    public boolean isDefault() {
+        return equals(DEFAULT);
+    }
+}
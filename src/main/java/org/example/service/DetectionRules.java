@@ -0,0 +1,69 @@
+package org.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Elige el {@link DetectionRule} de cada petición de {@code POST /mutant}.
+ * <p>
+ * Cada tenant (cabecera {@code X-Tenant-Id}) puede tener su propio criterio en
+ * {@code mutant.detector.tenant-rules}, como una lista {@code tenant:largo:secuencias} separada por comas
+ * (por ejemplo {@code lab-a:5:2,lab-b:4:3}); los tenants sin entrada y las peticiones sin cabecera usan el
+ * criterio estándar. Los parámetros {@code run_length} y {@code min_sequences} de la petición reemplazan
+ * el valor correspondiente del criterio del tenant.
+ */
+@Component
+public class DetectionRules {
+
+    private final Map<String, DetectionRule> tenantRules;
+
+    public DetectionRules(@Value("${mutant.detector.tenant-rules:}") String tenantRules) {
+        this.tenantRules = parse(tenantRules);
+    }
+
+    /**
+     * @param tenant       El tenant de la petición, o {@code null}.
+     * @param runLength    Largo de secuencia pedido, o {@code null} para usar el del tenant.
+     * @param minSequences Cantidad de secuencias pedida, o {@code null} para usar la del tenant.
+     * @return El criterio a aplicar.
+     * @throws IllegalArgumentException si los valores pedidos están fuera de rango.
+     */
+    public DetectionRule resolve(String tenant, Integer runLength, Integer minSequences) {
+        final DetectionRule base = tenant == null
+                ? DetectionRule.DEFAULT
+                : tenantRules.getOrDefault(tenant, DetectionRule.DEFAULT);
+        if (runLength == null && minSequences == null) {
+            return base;
+        }
+        return new DetectionRule(runLength != null ? runLength : base.runLength(),
+                minSequences != null ? minSequences : base.minSequences());
+    }
+
+    /**
+     * @throws IllegalArgumentException si alguna entrada no tiene el formato {@code tenant:largo:secuencias}
+     *                                  o sus valores están fuera de rango, para que la aplicación no arranque.
+     */
+    static Map<String, DetectionRule> parse(String spec) {
+        final Map<String, DetectionRule> rules = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return Map.of();
+        }
+        for (String entry : spec.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            if (parts.length != 3 || parts[0].isBlank()) {
+                throw new IllegalArgumentException("Entrada inválida en mutant.detector.tenant-rules "
+                        + "(se espera tenant:largo:secuencias): " + entry);
+            }
+            try {
+                rules.put(parts[0].trim(), new DetectionRule(Integer.parseInt(parts[1].trim()),
+                        Integer.parseInt(parts[2].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Entrada inválida en mutant.detector.tenant-rules: " + entry, e);
+            }
+        }
+        return Map.copyOf(rules);
+    }
+}
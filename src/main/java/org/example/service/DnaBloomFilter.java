@@ -0,0 +1,138 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom sobre claves de ADN, seguro para lecturas y escrituras concurrentes sin bloqueos.
+ * <p>
+ * Las claves ya son digests uniformes, así que no se vuelven a hashear: los primeros 16 bytes se
+ * leen como dos {@code long} (h1, h2) y las {@code k} posiciones se derivan con doble hashing
+ * ({@code h1 + i * h2}). Un resultado negativo es definitivo; uno positivo puede ser un falso positivo.
+ */
+final class DnaBloomFilter {
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder insertions = new LongAdder();
+
+    private DnaBloomFilter(long bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+        this.bitSize = (long) words.length() << 6;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Dimensiona el filtro con las fórmulas estándar {@code m = -n ln p / (ln 2)^2} y
+     * {@code k = (m / n) ln 2}. Si el tamaño supera {@code maxMemoryBytes}, se recorta y se recalcula
+     * {@code k}; la tasa de falsos positivos real será entonces mayor que {@code falsePositiveRate}.
+     *
+     * @param expectedInsertions Cantidad de claves esperadas.
+     * @param falsePositiveRate  Tasa de falsos positivos buscada, entre 0 y 1 (exclusivos).
+     * @param maxMemoryBytes     Memoria máxima del arreglo de bits.
+     */
+    static DnaBloomFilter create(long expectedInsertions, double falsePositiveRate, long maxMemoryBytes) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1: " + falsePositiveRate);
+        }
+        final long n = Math.max(1, expectedInsertions);
+        final long maxBits = Math.min(Math.max(64, maxMemoryBytes * 8), (long) Integer.MAX_VALUE << 6);
+        final long bits = Math.min(maxBits, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        final int k = (int) Math.max(1, Math.round((double) bits / n * LN2));
+        return new DnaBloomFilter(bits, k);
+    }
+
+    boolean mightContain(DnaKey key) {
+        final long h1 = h1(key.bytes());
+        final long h2 = h2(key.bytes(), h1);
+        long combined = h1;
+        for (int i = 0; i < hashFunctions; i++) {
+            combined += h2;
+            final long bit = (combined & Long.MAX_VALUE) % bitSize;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void put(DnaKey key) {
+        final long h1 = h1(key.bytes());
+        final long h2 = h2(key.bytes(), h1);
+        long combined = h1;
+        for (int i = 0; i < hashFunctions; i++) {
+            combined += h2;
+            final long bit = (combined & Long.MAX_VALUE) % bitSize;
+            final int index = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            // Se evita la escritura (y el tráfico de caché entre núcleos) si el bit ya está en 1.
+            if ((words.get(index) & mask) == 0) {
+                words.getAndAccumulate(index, mask, (current, m) -> current | m);
+            }
+        }
+        insertions.increment();
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * @return Cantidad de claves agregadas (las repetidas cuentan más de una vez).
+     */
+    long insertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * Tasa de falsos positivos estimada con las claves agregadas hasta ahora: {@code (1 - e^(-k n / m))^k}.
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) insertions() / bitSize), hashFunctions);
+    }
+
+    private static long h1(byte[] bytes) {
+        if (bytes.length >= 2 * Long.BYTES) {
+            return (long) LONG_VIEW.get(bytes, 0);
+        }
+        // Claves cortas (no producidas por DnaHasher): se mezcla el hash del contenido.
+        return mix(Arrays.hashCode(bytes));
+    }
+
+    private static long h2(byte[] bytes, long h1) {
+        if (bytes.length >= 2 * Long.BYTES) {
+            return (long) LONG_VIEW.get(bytes, Long.BYTES);
+        }
+        return mix(h1);
+    }
+
+    /**
+     * Finalizador de MurmurHash3 (fmix64).
+     */
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.service;
+
+/**
+ * Algoritmos disponibles para calcular la clave de deduplicación de un ADN.
+ * Se selecciona con la propiedad {@code mutant.hash.algorithm}.
+ * Cambiar de algoritmo con datos existentes hace que los ADN ya guardados se vuelvan a analizar,
+ * ya que sus claves no coinciden.
+ */
+public enum DnaHashAlgorithm {
+
+    /**
+     * SHA-256 criptográfico, clave de 32 bytes (por defecto).
+     */
+    SHA_256,
+
+    /**
+     * Huella no criptográfica MurmurHash3 x64 de 128 bits, clave de 16 bytes.
+     * Mucho más rápida, para despliegues que no necesitan resistencia a colisiones provocadas.
+     */
+    MURMUR3_128
+}
@@ -0,0 +1,347 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+import org.example.exception.DnaHashCalculationException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Calcula el hash de una secuencia de ADN sin generar basura proporcional al tamaño de la matriz.
+ * <p>
+ * Las llamadas reutilizan el {@link MessageDigest}, un buffer de bytes y los arrays de salida, tomados de un
+ * pool acotado compartido por todos los hilos: con hilos virtuales un {@code ThreadLocal} crearía un estado
+ * nuevo (8 KB y un {@code MessageDigest}) por petición.
+ * Las filas se codifican al buffer y se pasan al algoritmo de forma incremental, sin unirlas
+ * en un único String ni copiarlas con {@code getBytes}. La única asignación por llamada es la
+ * {@link DnaKey} resultante con su copia del digest. El resultado es idéntico a aplicar el algoritmo sobre
+ * {@code String.join("", dna)} codificado en UTF-8.
+ */
+final class DnaHasher {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int SHA_256_LENGTH = 32;
+    private static final int MURMUR3_128_LENGTH = 16;
+    /** Carácter ASCII de cada código de 2 bits de {@link PackedDnaMatrix}. */
+    private static final byte[] BASE_BYTES = {'A', 'C', 'G', 'T'};
+
+    /** Estados retenidos como máximo; si todos están en uso, la llamada crea uno temporal. */
+    private static final int POOL_SIZE = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+    private static final AtomicReferenceArray<Scratch> POOL = new AtomicReferenceArray<>(POOL_SIZE);
+
+    private DnaHasher() {
+    }
+
+    /**
+     * @param dna       La secuencia de ADN.
+     * @param algorithm El algoritmo a utilizar.
+     * @return El hash en binario (32 bytes para SHA-256, 16 para MurmurHash3).
+     * @throws DnaHashCalculationException si el algoritmo SHA-256 no está disponible.
+     */
+    static DnaKey hash(String[] dna, DnaHashAlgorithm algorithm) {
+        final Scratch scratch = acquire();
+        final DnaKey key;
+        if (algorithm == DnaHashAlgorithm.MURMUR3_128) {
+            final Murmur3 murmur = scratch.murmur();
+            murmur.reset();
+            feed(dna, scratch.buffer, murmur);
+            key = murmur(scratch);
+        } else {
+            final MessageDigest digest = scratch.sha256();
+            feed(dna, scratch.buffer, digest::update);
+            key = sha256(scratch);
+        }
+        release(scratch);
+        return key;
+    }
+
+    /**
+     * Calcula el mismo hash que {@link #hash(String[], DnaHashAlgorithm)} para la matriz equivalente,
+     * decodificando las bases empaquetadas directamente al buffer.
+     *
+     * @param dna       La matriz de ADN empaquetada.
+     * @param algorithm El algoritmo a utilizar.
+     * @return El hash en binario (32 bytes para SHA-256, 16 para MurmurHash3).
+     * @throws DnaHashCalculationException si el algoritmo SHA-256 no está disponible.
+     */
+    static DnaKey hash(PackedDnaMatrix dna, DnaHashAlgorithm algorithm) {
+        final Scratch scratch = acquire();
+        final DnaKey key;
+        if (algorithm == DnaHashAlgorithm.MURMUR3_128) {
+            final Murmur3 murmur = scratch.murmur();
+            murmur.reset();
+            feed(dna, scratch.buffer, murmur);
+            key = murmur(scratch);
+        } else {
+            final MessageDigest digest = scratch.sha256();
+            feed(dna, scratch.buffer, digest::update);
+            key = sha256(scratch);
+        }
+        release(scratch);
+        return key;
+    }
+
+    /**
+     * Toma un estado libre del pool empezando por una posición aleatoria, para que los hilos no compitan
+     * siempre por la misma, o crea uno nuevo si no queda ninguno. No bloquea, así que no fija el hilo
+     * portador de un hilo virtual.
+     */
+    private static Scratch acquire() {
+        final int start = ThreadLocalRandom.current().nextInt(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            final int slot = (start + i) % POOL_SIZE;
+            final Scratch scratch = POOL.get(slot);
+            if (scratch != null && POOL.compareAndSet(slot, scratch, null)) {
+                return scratch;
+            }
+        }
+        return new Scratch();
+    }
+
+    /**
+     * Devuelve el estado a un hueco libre del pool; si está lleno, el estado se descarta.
+     * Solo se llama tras un hash completo: si el cálculo falla, el estado a medias no vuelve al pool.
+     */
+    private static void release(Scratch scratch) {
+        final int start = ThreadLocalRandom.current().nextInt(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            final int slot = (start + i) % POOL_SIZE;
+            if (POOL.get(slot) == null && POOL.compareAndSet(slot, null, scratch)) {
+                return;
+            }
+        }
+    }
+
+    private static DnaKey murmur(Scratch scratch) {
+        scratch.murmur().finish(scratch.output);
+        return new DnaKey(Arrays.copyOf(scratch.output, MURMUR3_128_LENGTH));
+    }
+
+    private static DnaKey sha256(Scratch scratch) {
+        final MessageDigest digest = scratch.sha256();
+        try {
+            digest.digest(scratch.output, 0, SHA_256_LENGTH);
+        } catch (DigestException e) {
+            throw new DnaHashCalculationException("Error al calcular el hash SHA-256 del ADN.", e);
+        }
+        return new DnaKey(Arrays.copyOf(scratch.output, SHA_256_LENGTH));
+    }
+
+    /**
+     * Codifica las filas en UTF-8 sobre el buffer y lo entrega al destino cada vez que se llena.
+     * Las bases válidas son ASCII (1 byte por carácter); si aparece otro carácter, el resto de la fila
+     * se codifica con el codificador estándar para mantener la equivalencia con UTF-8.
+     */
+    private static void feed(String[] dna, byte[] buffer, ByteSink sink) {
+        int position = 0;
+        for (String row : dna) {
+            if (row == null) {
+                // Equivalente a String.join: una fila nula aporta "null".
+                row = "null";
+            }
+            final int length = row.length();
+            for (int i = 0; i < length; i++) {
+                final char c = row.charAt(i);
+                if (c >= 0x80) {
+                    sink.update(buffer, 0, position);
+                    position = 0;
+                    final byte[] rest = row.substring(i).getBytes(StandardCharsets.UTF_8);
+                    sink.update(rest, 0, rest.length);
+                    break;
+                }
+                if (position == buffer.length) {
+                    sink.update(buffer, 0, position);
+                    position = 0;
+                }
+                buffer[position++] = (byte) c;
+            }
+        }
+        sink.update(buffer, 0, position);
+    }
+
+    /**
+     * Decodifica la matriz empaquetada fila por fila en ASCII sobre el buffer, una palabra de 32 bases por vez.
+     */
+    private static void feed(PackedDnaMatrix dna, byte[] buffer, ByteSink sink) {
+        final int n = dna.size();
+        int position = 0;
+        for (int row = 0; row < n; row++) {
+            for (int index = 0, col = 0; col < n; index++, col += PackedDnaMatrix.BASES_PER_WORD) {
+                final int bases = Math.min(PackedDnaMatrix.BASES_PER_WORD, n - col);
+                if (position + bases > buffer.length) {
+                    sink.update(buffer, 0, position);
+                    position = 0;
+                }
+                long word = dna.word(row, index);
+                for (int i = 0; i < bases; i++) {
+                    buffer[position++] = BASE_BYTES[(int) word & 0b11];
+                    word >>>= 2;
+                }
+            }
+        }
+        sink.update(buffer, 0, position);
+    }
+
+    @FunctionalInterface
+    private interface ByteSink {
+        void update(byte[] bytes, int offset, int length);
+    }
+
+    /**
+     * Estado reutilizable que usa un solo hilo a la vez, mientras lo tiene fuera del pool.
+     */
+    private static final class Scratch {
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] output = new byte[SHA_256_LENGTH];
+        private MessageDigest sha256;
+        private Murmur3 murmur;
+
+        private MessageDigest sha256() {
+            if (sha256 == null) {
+                try {
+                    sha256 = MessageDigest.getInstance("SHA-256");
+                } catch (NoSuchAlgorithmException e) {
+                    // Esta excepción es muy improbable en un entorno Java estándar.
+                    throw new DnaHashCalculationException("Error al calcular el hash SHA-256 del ADN.", e);
+                }
+            }
+            return sha256;
+        }
+
+        private Murmur3 murmur() {
+            if (murmur == null) {
+                murmur = new Murmur3();
+            }
+            return murmur;
+        }
+    }
+
+    /**
+     * MurmurHash3 x64 de 128 bits (semilla 0) en modo incremental.
+     * La salida sigue el orden de bytes little-endian de h1 seguido de h2.
+     */
+    private static final class Murmur3 implements ByteSink {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+        private static final int BLOCK_SIZE = 16;
+        private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+        private long h1;
+        private long h2;
+        private long k1;
+        private long k2;
+        private int blockPosition;
+        private long totalLength;
+
+        void reset() {
+            h1 = 0;
+            h2 = 0;
+            k1 = 0;
+            k2 = 0;
+            blockPosition = 0;
+            totalLength = 0;
+        }
+
+        /**
+         * Completa el bloque pendiente de la llamada anterior byte a byte, mezcla los bloques completos de
+         * 16 bytes con dos lecturas {@code long} little-endian y guarda la cola para la próxima llamada.
+         */
+        @Override
+        public void update(byte[] bytes, int offset, int length) {
+            final int end = offset + length;
+            int i = offset;
+            while (blockPosition != 0 && i < end) {
+                append(bytes[i++]);
+            }
+            for (; end - i >= BLOCK_SIZE; i += BLOCK_SIZE) {
+                k1 = (long) LONG_LE.get(bytes, i);
+                k2 = (long) LONG_LE.get(bytes, i + Long.BYTES);
+                mixBlock();
+            }
+            while (i < end) {
+                append(bytes[i++]);
+            }
+            totalLength += length;
+        }
+
+        private void append(byte value) {
+            final long b = value & 0xffL;
+            if (blockPosition < 8) {
+                k1 |= b << (blockPosition << 3);
+            } else {
+                k2 |= b << ((blockPosition - 8) << 3);
+            }
+            if (++blockPosition == BLOCK_SIZE) {
+                mixBlock();
+            }
+        }
+
+        private void mixBlock() {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+
+            k1 = 0;
+            k2 = 0;
+            blockPosition = 0;
+        }
+
+        void finish(byte[] output) {
+            if (blockPosition > 8) {
+                k2 *= C2;
+                k2 = Long.rotateLeft(k2, 33);
+                k2 *= C1;
+                h2 ^= k2;
+            }
+            if (blockPosition > 0) {
+                k1 *= C1;
+                k1 = Long.rotateLeft(k1, 31);
+                k1 *= C2;
+                h1 ^= k1;
+            }
+
+            h1 ^= totalLength;
+            h2 ^= totalLength;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+
+            for (int i = 0; i < 8; i++) {
+                output[i] = (byte) (h1 >>> (i << 3));
+                output[8 + i] = (byte) (h2 >>> (i << 3));
+            }
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
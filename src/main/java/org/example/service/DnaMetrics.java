@@ -0,0 +1,143 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de Micrometer del camino de {@code POST /mutant}, publicadas en {@code /actuator/prometheus}.
+ * <ul>
+ *     <li>{@code dna.hash}: cálculo del hash del ADN.</li>
+ *     <li>{@code dna.lookup}: búsqueda por clave en la base de datos, con la etiqueta {@code result} (found / missing).</li>
+ *     <li>{@code dna.detect}: detección, con las etiquetas {@code size} (rango de N) y {@code verdict} (mutant / human).</li>
+ *     <li>{@code dna.save}: inserción síncrona, con la etiqueta {@code outcome} (inserted / duplicate).</li>
+ *     <li>{@code dna.matrix.size}: histograma de N de las matrices analizadas.</li>
+ *     <li>{@code dna.detect.cells.scanned}: histograma de celdas recorridas antes del corte temprano.</li>
+ *     <li>{@code dna.detect.cells.examined}: histograma de lecturas de celdas antes del corte temprano, comparable
+ *     entre motores.</li>
+ * </ul>
+ * La validación se mide en {@link org.example.validation.ValidDnaSequenceValidator} ({@code dna.validation}).
+ * Todos los medidores se registran al crear el componente para no buscarlos en el registro en cada petición.
+ */
+@Component
+public class DnaMetrics {
+
+    /** Límite superior (inclusive) de N de cada rango de la etiqueta {@code size}. */
+    private static final int[] SIZE_BUCKET_LIMITS = {8, 32, 128, 512, 2048, Integer.MAX_VALUE};
+    private static final String[] SIZE_BUCKET_NAMES = {"4-8", "9-32", "33-128", "129-512", "513-2048", "2049+"};
+
+    private static final DnaMetrics NOOP = new DnaMetrics(new CompositeMeterRegistry());
+
+    private final Timer hashTimer;
+    private final Timer lookupFoundTimer;
+    private final Timer lookupMissingTimer;
+    private final Timer saveInsertedTimer;
+    private final Timer saveDuplicateTimer;
+    private final Timer[] detectMutantTimers = new Timer[SIZE_BUCKET_LIMITS.length];
+    private final Timer[] detectHumanTimers = new Timer[SIZE_BUCKET_LIMITS.length];
+    private final DistributionSummary matrixSize;
+    private final DistributionSummary cellsScanned;
+    private final DistributionSummary cellsExamined;
+
+    public DnaMetrics(MeterRegistry registry) {
+        this.hashTimer = Timer.builder("dna.hash")
+                .description("Cálculo del hash del ADN")
+                .register(registry);
+        this.lookupFoundTimer = lookupTimer(registry, "found");
+        this.lookupMissingTimer = lookupTimer(registry, "missing");
+        this.saveInsertedTimer = saveTimer(registry, "inserted");
+        this.saveDuplicateTimer = saveTimer(registry, "duplicate");
+        for (int i = 0; i < SIZE_BUCKET_LIMITS.length; i++) {
+            detectMutantTimers[i] = detectTimer(registry, SIZE_BUCKET_NAMES[i], "mutant");
+            detectHumanTimers[i] = detectTimer(registry, SIZE_BUCKET_NAMES[i], "human");
+        }
+        this.matrixSize = DistributionSummary.builder("dna.matrix.size")
+                .description("Tamaño N de las matrices analizadas")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(4.0)
+                .maximumExpectedValue(10_000.0)
+                .register(registry);
+        this.cellsScanned = DistributionSummary.builder("dna.detect.cells.scanned")
+                .description("Celdas recorridas por el detector antes del corte temprano")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000_000.0)
+                .register(registry);
+        this.cellsExamined = DistributionSummary.builder("dna.detect.cells.examined")
+                .description("Celdas leídas por el detector antes del corte temprano")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000_000_000.0)
+                .register(registry);
+    }
+
+    /**
+     * Métricas sin registro, para los componentes creados fuera del contexto de Spring.
+     */
+    public static DnaMetrics noop() {
+        return NOOP;
+    }
+
+    public void recordHash(long nanos) {
+        hashTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLookup(boolean found, long nanos) {
+        (found ? lookupFoundTimer : lookupMissingTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSave(boolean inserted, long nanos) {
+        (inserted ? saveInsertedTimer : saveDuplicateTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param size          N de la matriz.
+     * @param mutant        Veredicto.
+     * @param cellsScanned  Celdas recorridas hasta el veredicto.
+     * @param cellsExamined Celdas leídas hasta el veredicto, o un valor negativo si el motor no las contó.
+     * @param nanos         Duración de la detección.
+     */
+    public void recordDetection(int size, boolean mutant, long cellsScanned, long cellsExamined, long nanos) {
+        final int bucket = sizeBucket(size);
+        (mutant ? detectMutantTimers[bucket] : detectHumanTimers[bucket]).record(nanos, TimeUnit.NANOSECONDS);
+        matrixSize.record(size);
+        this.cellsScanned.record(cellsScanned);
+        if (cellsExamined >= 0) {
+            this.cellsExamined.record(cellsExamined);
+        }
+    }
+
+    static int sizeBucket(int size) {
+        int bucket = 0;
+        while (size > SIZE_BUCKET_LIMITS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static Timer lookupTimer(MeterRegistry registry, String result) {
+        return Timer.builder("dna.lookup")
+                .description("Búsqueda del ADN por clave en la base de datos")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer saveTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("dna.save")
+                .description("Inserción síncrona del registro de ADN")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Timer detectTimer(MeterRegistry registry, String size, String verdict) {
+        return Timer.builder("dna.detect")
+                .description("Detección de secuencias mutantes")
+                .tag("size", size)
+                .tag("verdict", verdict)
+                .register(registry);
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+import org.example.repository.VerdictStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Persistencia diferida (write-behind) de los {@link DnaRecord} nuevos.
+ * <p>
+ * Con {@code mutant.persistence.write-behind.enabled=true}, {@link MutantService} responde el veredicto
+ * sin esperar a la base de datos y encola el registro en una cola acotada. Un hilo escritor la vacía en
+ * lotes JDBC cuando junta {@code flush-size} registros o cuando pasa {@code flush-interval-ms} desde el
+ * primero pendiente. Al detener la aplicación se vacía la cola antes de cerrar la base de datos.
+ * <p>
+ * {@link MutantService} cachea el veredicto de un registro encolado antes de que se guarde. Si el lote
+ * que lo contiene falla, el veredicto se quita de la {@link DnaVerdictTable} y de la {@link DnaVerdictCache}
+ * para que el próximo pedido
+ * del mismo ADN lo vuelva a analizar y guardar, en lugar de servirlo desde memoria sin registro detrás.
+ * <p>
+ * Las claves encoladas siguen visibles en {@link #forEachPendingKey(Consumer)} hasta que su lote termina,
+ * para que {@link KnownDnaFilter#rebuild()} no las pierda mientras todavía no están en el almacén.
+ * <p>
+ * Métricas: {@code dna.write_behind.queue.size} (profundidad de la cola),
+ * {@code dna.write_behind.flush} (latencia de cada lote) y {@code dna.write_behind.records} (registros insertados).
+ */
+@Slf4j
+@Component
+public class DnaRecordWriteBehind {
+
+    private final VerdictStore verdictStore;
+    private final DnaStatsCounters statsCounters;
+    private final DnaVerdictTable verdictTable;
+    private final DnaVerdictCache verdictCache;
+    private final boolean enabled;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMs;
+    private final BlockingQueue<DnaRecord> queue;
+    /**
+     * Registros encolados o en un lote en curso por clave. Una clave encolada sale de aquí recién cuando su
+     * lote termina: ya está en el almacén o, si el lote falló, no está en ninguno de los dos.
+     */
+    private final Map<DnaKey, Integer> pendingKeys = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final Counter insertedCounter;
+
+    /**
+     * Los productores encolan con el lock de lectura y {@link #stop()} apaga {@code running} con el de
+     * escritura: cuando el escritor ve {@code running == false}, ya no queda ningún {@code offer} en curso.
+     */
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public DnaRecordWriteBehind(VerdictStore verdictStore,
+                                DnaStatsCounters statsCounters,
+                                DnaVerdictTable verdictTable,
+                                DnaVerdictCache verdictCache,
+                                MeterRegistry meterRegistry,
+                                @Value("${mutant.persistence.write-behind.enabled:false}") boolean enabled,
+                                @Value("${mutant.persistence.write-behind.capacity:10000}") int capacity,
+                                @Value("${mutant.persistence.write-behind.flush-size:500}") int flushSize,
+                                @Value("${mutant.persistence.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                @Value("${mutant.persistence.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        this.verdictStore = verdictStore;
+        this.statsCounters = statsCounters;
+        this.verdictTable = verdictTable;
+        this.verdictCache = verdictCache;
+        this.enabled = enabled;
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("dna.write_behind.queue.size", queue, BlockingQueue::size)
+                .description("Registros de ADN pendientes de escribir en la base de datos")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("dna.write_behind.flush")
+                .description("Latencia de cada lote escrito en la base de datos")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.insertedCounter = Counter.builder("dna.write_behind.records")
+                .description("Registros de ADN insertados por el escritor diferido")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Encola un registro nuevo sin bloquear.
+     *
+     * @return {@code false} si la cola está llena o el escritor está detenido; el llamador debe guardarlo
+     * de forma síncrona.
+     */
+    public boolean enqueue(DnaRecord record) {
+        acceptLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            pendingKeys.merge(record.getDnaKey(), 1, Integer::sum);
+            if (queue.offer(record)) {
+                return true;
+            }
+            release(record.getDnaKey());
+            return false;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recorre las claves encoladas que todavía no se guardaron. El recorrido es débilmente consistente:
+     * una clave que desaparece durante el recorrido es porque su lote ya terminó.
+     */
+    public void forEachPendingKey(Consumer<DnaKey> consumer) {
+        pendingKeys.keySet().forEach(consumer);
+    }
+
+    private void release(DnaKey dnaKey) {
+        pendingKeys.computeIfPresent(dnaKey, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, "dna-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Deja de aceptar registros y espera a que el escritor vacíe la cola. Si no termina en
+     * {@code shutdown-timeout-ms}, los registros que siguen en la cola se guardan en este hilo.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        writerThread.join(shutdownTimeoutMs);
+        if (!queue.isEmpty()) {
+            log.warn("El escritor diferido no terminó a tiempo; se guardan {} registros de ADN pendientes.", queue.size());
+            final List<DnaRecord> batch = new ArrayList<>(flushSize);
+            while (queue.drainTo(batch, flushSize) > 0) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<DnaRecord> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Espera el primer registro y junta hasta {@code flushSize} registros o hasta que vence el intervalo.
+     */
+    private void collectBatch(List<DnaRecord> batch) throws InterruptedException {
+        final DnaRecord first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        final long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            final long remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                return;
+            }
+            final DnaRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<DnaRecord> batch) {
+        try {
+            boolean[] inserted = flushTimer.recordCallable(() -> verdictStore.insertAll(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                if (inserted[i]) {
+                    statsCounters.recordInsert(batch.get(i).isMutant());
+                    insertedCounter.increment();
+                }
+            }
+        } catch (Exception e) {
+            log.error("No se pudo guardar un lote de {} registros de ADN.", batch.size(), e);
+            for (DnaRecord record : batch) {
+                verdictTable.remove(record.getDnaKey());
+                verdictCache.evict(record.getDnaKey());
+            }
+        } finally {
+            for (DnaRecord record : batch) {
+                release(record.getDnaKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaStats;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaStatsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Totales persistentes de {@code GET /stats} en la tabla {@code dna_stats}, compartidos por todas
+ * las instancias y conservados entre reinicios.
+ * <p>
+ * Con {@code mutant.stats.table.enabled=true}, cada inserción en {@code dna_records} incrementa la
+ * fila de totales en su misma transacción (ver {@code DnaRecordBatchRepositoryImpl}) y
+ * {@link StatsService} lee esa única fila en lugar de contar la tabla.
+ * <p>
+ * {@link #check()} verifica la fila contra {@code countByIsMutant} y la reconstruye si no coincide o no
+ * existe. Se ejecuta al iniciar la aplicación y cada {@code mutant.stats.table.check-interval-ms};
+ * como cuenta toda la tabla, el intervalo por defecto es largo.
+ */
+@Slf4j
+@Component
+public class DnaStatsTable {
+
+    private final DnaStatsRepository dnaStatsRepository;
+    private final DnaRecordRepository dnaRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public DnaStatsTable(DnaStatsRepository dnaStatsRepository,
+                         DnaRecordRepository dnaRecordRepository,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${mutant.stats.table.enabled:false}") boolean enabled) {
+        this.dnaStatsRepository = dnaStatsRepository;
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return La fila de totales, o vacío si la tabla está deshabilitada o todavía no se creó.
+     */
+    public Optional<DnaStats> read() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return dnaStatsRepository.findById(DnaStats.SUMMARY_ID);
+    }
+
+    /**
+     * Crea o verifica la fila de totales al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        check();
+    }
+
+    /**
+     * Compara la fila de totales con los conteos de {@code dna_records} y la reconstruye si difieren.
+     * <p>
+     * La fila se bloquea antes de contar: las inserciones que todavía no terminaron esperan para
+     * incrementarla y se suman sobre el conteo nuevo, y las ya confirmadas están en el conteo,
+     * así que ninguna se pierde ni se cuenta dos veces.
+     *
+     * @return {@code true} si la fila era consistente (o la tabla está deshabilitada).
+     */
+    @Scheduled(initialDelayString = "${mutant.stats.table.check-interval-ms:3600000}",
+            fixedDelayString = "${mutant.stats.table.check-interval-ms:3600000}")
+    public boolean check() {
+        if (!enabled) {
+            return true;
+        }
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            final Optional<DnaStats> current = dnaStatsRepository.findByIdForUpdate(DnaStats.SUMMARY_ID);
+            final long mutants = dnaRecordRepository.countByIsMutant(true);
+            final long humans = dnaRecordRepository.countByIsMutant(false);
+
+            final DnaStats stats = current.orElseGet(DnaStats::new);
+            if (current.isPresent() && stats.getMutantCount() == mutants && stats.getHumanCount() == humans) {
+                return true;
+            }
+            if (current.isPresent()) {
+                log.warn("Totales de dna_stats inconsistentes ({} mutantes, {} humanos); se reconstruyen con {} y {}.",
+                        stats.getMutantCount(), stats.getHumanCount(), mutants, humans);
+            } else {
+                log.info("Se crea la fila de dna_stats con {} mutantes y {} humanos.", mutants, humans);
+            }
+            stats.setId(DnaStats.SUMMARY_ID);
+            stats.setMutantCount(mutants);
+            stats.setHumanCount(humans);
+            stats.setUpdatedAt(LocalDateTime.now());
+            dnaStatsRepository.save(stats);
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Estadísticas de las verificaciones por ventana de tiempo (último minuto, hora y día), sin
+ * consultar {@code dna_records}.
+ * <p>
+ * Es un buffer circular de un día de cubetas de un segundo. Cada cubeta guarda el segundo al que
+ * pertenece y sus contadores (verificaciones, mutantes y aciertos de la caché en memoria), todos en
+ * {@link AtomicLongArray} planos. {@link MutantService} incrementa la cubeta del segundo actual sin
+ * bloqueos; el primer hilo que llega a un segundo nuevo reclama la cubeta con un CAS sobre su
+ * segundo, la pone en cero y la publica. La lectura recorre solo las cubetas de la ventana pedida
+ * y descarta las que todavía guardan un segundo anterior, así que su costo depende de la duración
+ * de la ventana y no del tráfico.
+ */
+@Component
+public class DnaStatsWindow {
+
+    /** Duración de las ventanas publicadas, en segundos. */
+    public static final int MINUTE = 60;
+    public static final int HOUR = 60 * MINUTE;
+    public static final int DAY = 24 * HOUR;
+
+    private static final int REQUESTS = 0;
+    private static final int MUTANTS = 1;
+    private static final int CACHE_HITS = 2;
+    private static final int FIELDS = 3;
+
+    /** Segundo de una cubeta que otro hilo está poniendo en cero. */
+    private static final long ROTATING = Long.MIN_VALUE;
+
+    private final LongSupplier epochSeconds;
+    private final AtomicLongArray seconds = new AtomicLongArray(DAY);
+    private final AtomicLongArray counters = new AtomicLongArray(DAY * FIELDS);
+
+    public DnaStatsWindow() {
+        this(() -> System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * @param epochSeconds Reloj en segundos desde la época, reemplazable en las pruebas.
+     */
+    DnaStatsWindow(LongSupplier epochSeconds) {
+        this.epochSeconds = epochSeconds;
+        for (int i = 0; i < DAY; i++) {
+            seconds.set(i, -1);
+        }
+    }
+
+    /**
+     * Registra una verificación.
+     *
+     * @param mutant   Veredicto.
+     * @param cacheHit {@code true} si el veredicto salió de la caché en memoria.
+     */
+    public void record(boolean mutant, boolean cacheHit) {
+        record(1, mutant ? 1 : 0, cacheHit ? 1 : 0);
+    }
+
+    /**
+     * Registra varias verificaciones en la cubeta actual (por ejemplo, un lote).
+     */
+    public void record(long requests, long mutants, long cacheHits) {
+        final int base = bucket(epochSeconds.getAsLong()) * FIELDS;
+        if (base < 0) {
+            return;
+        }
+        counters.addAndGet(base + REQUESTS, requests);
+        if (mutants != 0) {
+            counters.addAndGet(base + MUTANTS, mutants);
+        }
+        if (cacheHits != 0) {
+            counters.addAndGet(base + CACHE_HITS, cacheHits);
+        }
+    }
+
+    /**
+     * @param windowSeconds Duración de la ventana (entre 1 y {@link #DAY}).
+     * @return Los totales de los últimos {@code windowSeconds} segundos, incluido el actual.
+     */
+    public Totals totals(int windowSeconds) {
+        if (windowSeconds < 1 || windowSeconds > DAY) {
+            throw new IllegalArgumentException("La ventana debe estar entre 1 y " + DAY + " segundos: " + windowSeconds);
+        }
+        final long now = epochSeconds.getAsLong();
+        long requests = 0;
+        long mutants = 0;
+        long cacheHits = 0;
+        for (long second = now; second > now - windowSeconds; second--) {
+            final int index = (int) Math.floorMod(second, (long) DAY);
+            if (seconds.get(index) != second) {
+                // Segundo sin verificaciones: la cubeta sigue con un segundo anterior.
+                continue;
+            }
+            final int base = index * FIELDS;
+            final long bucketRequests = counters.get(base + REQUESTS);
+            final long bucketMutants = counters.get(base + MUTANTS);
+            final long bucketCacheHits = counters.get(base + CACHE_HITS);
+            // Si la cubeta se reutilizó mientras se leía, sus contadores ya son de otro segundo.
+            if (seconds.get(index) != second) {
+                continue;
+            }
+            requests += bucketRequests;
+            mutants += bucketMutants;
+            cacheHits += bucketCacheHits;
+        }
+        return new Totals(windowSeconds, requests, mutants, cacheHits);
+    }
+
+    /**
+     * Devuelve la cubeta del segundo indicado, reclamándola si todavía pertenece a un segundo anterior.
+     *
+     * @return El índice de la cubeta, o {@code -1} si el segundo ya salió del buffer.
+     */
+    private int bucket(long second) {
+        final int index = (int) Math.floorMod(second, (long) DAY);
+        while (true) {
+            final long current = seconds.get(index);
+            if (current == second) {
+                return index;
+            }
+            if (current == ROTATING) {
+                // Otro hilo está poniendo la cubeta en cero: son tres escrituras.
+                Thread.onSpinWait();
+                continue;
+            }
+            if (current > second) {
+                // Reloj atrasado un día completo respecto de la cubeta: se descarta el evento.
+                return -1;
+            }
+            if (seconds.compareAndSet(index, current, ROTATING)) {
+                final int base = index * FIELDS;
+                counters.set(base + REQUESTS, 0);
+                counters.set(base + MUTANTS, 0);
+                counters.set(base + CACHE_HITS, 0);
+                seconds.set(index, second);
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Totales de una ventana.
+     *
+     * @param windowSeconds Duración de la ventana.
+     * @param requests      Verificaciones registradas.
+     * @param mutants       Verificaciones con veredicto mutante.
+     * @param cacheHits     Verificaciones resueltas por la caché en memoria.
+     */
+    public record Totals(int windowSeconds, long requests, long mutants, long cacheHits) {
+
+        public long humans() {
+            return requests - mutants;
+        }
+
+        public double throughputPerSecond() {
+            return (double) requests / windowSeconds;
+        }
+
+        public double cacheHitRatio() {
+            return requests == 0 ? 0.0 : (double) cacheHits / requests;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.DnaRequest;
+import org.example.dto.DnaStreamResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Procesa un stream NDJSON de {@link DnaRequest} y escribe un stream NDJSON de {@link DnaStreamResult}.
+ * <p>
+ * Cada objeto se lee, valida, analiza con {@link MutantService} y responde antes de leer el siguiente,
+ * por lo que la memoria usada no depende del tamaño total del upload. La contrapresión es la del
+ * propio TCP: si el cliente no consume las respuestas, la escritura se bloquea y se deja de leer.
+ */
+@Service
+@RequiredArgsConstructor
+public class DnaStreamService {
+
+    private final MutantService mutantService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${mutant.stream.flush-every:64}")
+    private int flushEvery = 64;
+
+    /**
+     * @param in  Body de la petición: objetos {@code {"dna": [...]}} separados por saltos de línea.
+     * @param out Body de la respuesta: una línea JSON por objeto de entrada, en el mismo orden.
+     * @throws IOException si falla la lectura o escritura del stream.
+     */
+    public void process(InputStream in, OutputStream out) throws IOException {
+        // El flush del stream de salida se controla aquí, no en cada línea escrita por Jackson.
+        ObjectWriter writer = objectMapper.writerFor(DnaStreamResult.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        // Con 0 o un valor negativo se hace flush en cada línea.
+        final int linesPerFlush = Math.max(1, flushEvery);
+        long index = 0;
+
+        try (MappingIterator<DnaRequest> requests = objectMapper.readerFor(DnaRequest.class).readValues(in)) {
+            while (hasNext(requests, out, writer, index)) {
+                DnaStreamResult result;
+                try {
+                    result = analyze(index, requests.nextValue());
+                } catch (JsonMappingException e) {
+                    // JSON con otra estructura: se informa y se sigue con el siguiente objeto.
+                    result = DnaStreamResult.error(index, "invalid_request", List.of(e.getOriginalMessage()));
+                } catch (JsonProcessingException e) {
+                    // JSON mal formado: no es posible resincronizar el parser, se corta el stream.
+                    writeLine(out, writer, DnaStreamResult.error(index, "malformed_json", List.of(e.getOriginalMessage())));
+                    break;
+                }
+                writeLine(out, writer, result);
+                index++;
+                if (index % linesPerFlush == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private DnaStreamResult analyze(long index, DnaRequest request) {
+        if (request == null) {
+            // Una línea con el literal null: se informa y se sigue con el siguiente objeto.
+            return DnaStreamResult.error(index, "invalid_request", List.of("Se esperaba un objeto {\"dna\": [...]}."));
+        }
+        Set<ConstraintViolation<DnaRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            List<String> details = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .toList();
+            return DnaStreamResult.error(index, "validation_failed", details);
+        }
+        return DnaStreamResult.verdict(index, mutantService.analyzeDna(request.getDna()));
+    }
+
+    /**
+     * Avanza el iterador. Si el JSON está mal formado escribe una línea de error y corta el stream,
+     * ya que no es posible resincronizar el parser.
+     */
+    private boolean hasNext(MappingIterator<DnaRequest> requests, OutputStream out, ObjectWriter writer, long index)
+            throws IOException {
+        try {
+            return requests.hasNextValue();
+        } catch (JsonProcessingException e) {
+            writeLine(out, writer, DnaStreamResult.error(index, "malformed_json", List.of(e.getOriginalMessage())));
+            return false;
+        }
+    }
+
+    private static void writeLine(OutputStream out, ObjectWriter writer, DnaStreamResult result) throws IOException {
+        writer.writeValue(out, result);
+        out.write('\n');
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché en memoria de veredictos (mutante / humano) indexada por el hash del ADN.
+ * Se ubica delante de {@link org.example.repository.DnaRecordRepository#findByDnaKey(DnaKey)}
+ * para no consultar la base de datos con ADN que ya se vio recientemente.
+ * <p>
+ * El tamaño máximo, el TTL y el registro de estadísticas (aciertos, fallos y desalojos) se configuran
+ * con {@code spring.cache.caffeine.spec}; las estadísticas se publican en
+ * {@code /actuator/metrics/cache.gets} y {@code /actuator/metrics/cache.evictions}.
+ * Solo se guardan veredictos que ya existen en la base de datos (o que están en la cola del
+ * modo write-behind), por lo que la caché nunca contradice al índice único {@code idx_dna_key}.
+ */
+@Component
+public class DnaVerdictCache {
+
+    public static final String CACHE_NAME = "dnaVerdicts";
+
+    private final Cache cache;
+
+    public DnaVerdictCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /**
+     * @param dnaKey El hash del ADN.
+     * @return El veredicto cacheado, o {@code null} si no está en la caché.
+     */
+    public Boolean get(DnaKey dnaKey) {
+        return cache.get(dnaKey, Boolean.class);
+    }
+
+    /**
+     * Guarda un veredicto ya persistido o encolado para persistir. Si otro hilo lo guardó antes, se conserva el existente.
+     */
+    public void put(DnaKey dnaKey, boolean isMutant) {
+        cache.putIfAbsent(dnaKey, isMutant);
+    }
+
+    /**
+     * Quita un veredicto que se cacheó al encolarlo pero no se pudo guardar.
+     */
+    public void evict(DnaKey dnaKey) {
+        cache.evict(dnaKey);
+    }
+}
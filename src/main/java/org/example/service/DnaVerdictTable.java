@@ -0,0 +1,242 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Tabla de veredictos en memoria sobre un único {@code long[]}, primer nivel de búsqueda de
+ * {@link MutantService}, delante de {@link DnaVerdictCache} y del almacén de veredictos.
+ * <p>
+ * Cada entrada ocupa {@value #ENTRY_BYTES} bytes: los primeros 128 bits de la clave (la clave MURMUR3_128
+ * completa o el prefijo de la de SHA-256) en dos {@code long}, y un tercero con el instante de inserción
+ * en milisegundos y el veredicto en el bit bajo; una palabra en cero indica una ranura libre. No hay
+ * objetos por entrada, así que el recolector no recorre la tabla; una entrada de Caffeine con su
+ * {@link DnaKey} y su {@code byte[]} ocupa más de 150 bytes.
+ * <p>
+ * La memoria es fija: el array se dimensiona una sola vez con {@code mutant.verdict-table.max-memory-bytes},
+ * en cubetas de {@value #BUCKET_SLOTS} ranuras contiguas que se eligen con los bits bajos de la clave
+ * (ya es un digest uniforme). Si la cubeta está llena, la entrada nueva reemplaza a la más antigua de
+ * la cubeta. Con 128 bits comparados, la probabilidad de confundir dos claves es despreciable.
+ * <p>
+ * Las escrituras toman el {@link StampedLock} de su franja de cubetas; las lecturas son optimistas y
+ * solo toman el lock si coincidieron con una escritura en la misma franja.
+ * <p>
+ * Las entradas no vencen, así que un veredicto del modo write-behind cuyo lote no se pudo guardar se
+ * quita con {@link #remove(DnaKey)}; si no, se serviría desde memoria sin registro en el almacén.
+ */
+@Component
+public class DnaVerdictTable {
+
+    static final int ENTRY_BYTES = 3 * Long.BYTES;
+    static final int BUCKET_SLOTS = 4;
+
+    private static final int SLOT_LONGS = 3;
+    private static final int BUCKET_LONGS = SLOT_LONGS * BUCKET_SLOTS;
+    private static final int KEY_BYTES = 2 * Long.BYTES;
+    /** Cantidad máxima de cubetas: el array tiene que caber en un {@code long[]}. */
+    private static final int MAX_BUCKETS = 1 << 27;
+    private static final int MAX_LOCKS = 1 << 10;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final boolean enabled;
+    private final long[] slots;
+    private final int bucketMask;
+    private final StampedLock[] locks;
+    private final int lockMask;
+
+    private final LongAdder entries = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public DnaVerdictTable(MeterRegistry registry,
+                           @Value("${mutant.verdict-table.enabled:true}") boolean enabled,
+                           @Value("${mutant.verdict-table.max-memory-bytes:67108864}") long maxMemoryBytes) {
+        this.enabled = enabled;
+        final int buckets = enabled ? bucketsFor(maxMemoryBytes) : 1;
+        this.slots = new long[buckets * BUCKET_LONGS];
+        this.bucketMask = buckets - 1;
+        this.locks = new StampedLock[Math.min(buckets, MAX_LOCKS)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new StampedLock();
+        }
+        this.lockMask = locks.length - 1;
+
+        Gauge.builder("dna.verdict.table.entries", entries, LongAdder::sum)
+                .description("Veredictos en la tabla en memoria")
+                .register(registry);
+        Gauge.builder("dna.verdict.table.memory", this, DnaVerdictTable::memoryBytes)
+                .description("Memoria reservada por la tabla de veredictos")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("dna.verdict.table.gets", hits, LongAdder::sum)
+                .description("Búsquedas en la tabla de veredictos")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("dna.verdict.table.gets", misses, LongAdder::sum)
+                .description("Búsquedas en la tabla de veredictos")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("dna.verdict.table.evictions", evictions, LongAdder::sum)
+                .description("Veredictos reemplazados por falta de lugar en su cubeta")
+                .register(registry);
+    }
+
+    /**
+     * @return La mayor cantidad de cubetas (potencia de 2) que entra en {@code maxMemoryBytes}.
+     */
+    static int bucketsFor(long maxMemoryBytes) {
+        final long buckets = Math.max(1, maxMemoryBytes / ((long) BUCKET_LONGS * Long.BYTES));
+        return (int) Math.min(Long.highestOneBit(buckets), MAX_BUCKETS);
+    }
+
+    /**
+     * @param dnaKey El hash del ADN.
+     * @return El veredicto guardado, o {@code null} si no está en la tabla.
+     */
+    public Boolean get(DnaKey dnaKey) {
+        final byte[] key = dnaKey.bytes();
+        if (!enabled || key.length < KEY_BYTES) {
+            return null;
+        }
+        final long k1 = (long) LONG_VIEW.get(key, 0);
+        final long k2 = (long) LONG_VIEW.get(key, Long.BYTES);
+        final int bucket = (int) k1 & bucketMask;
+        final StampedLock lock = locks[bucket & lockMask];
+
+        long stamp = lock.tryOptimisticRead();
+        long meta = find(bucket, k1, k2);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                meta = find(bucket, k1, k2);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (meta == 0) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return (meta & 1) != 0;
+    }
+
+    /**
+     * Guarda un veredicto ya persistido o encolado para persistir. Si la clave ya está, se conserva la
+     * entrada existente; si la cubeta está llena, se reemplaza su entrada más antigua.
+     */
+    public void put(DnaKey dnaKey, boolean isMutant) {
+        final byte[] key = dnaKey.bytes();
+        if (!enabled || key.length < KEY_BYTES) {
+            return;
+        }
+        final long k1 = (long) LONG_VIEW.get(key, 0);
+        final long k2 = (long) LONG_VIEW.get(key, Long.BYTES);
+        final int bucket = (int) k1 & bucketMask;
+        final long meta = System.currentTimeMillis() << 1 | (isMutant ? 1 : 0);
+        final StampedLock lock = locks[bucket & lockMask];
+
+        final long stamp = lock.writeLock();
+        try {
+            final int base = bucket * BUCKET_LONGS;
+            int victim = base;
+            long victimMeta = Long.MAX_VALUE;
+            for (int slot = base; slot < base + BUCKET_LONGS; slot += SLOT_LONGS) {
+                final long current = slots[slot + 2];
+                if (current != 0 && slots[slot] == k1 && slots[slot + 1] == k2) {
+                    return;
+                }
+                // Las ranuras libres tienen instante 0, así que se eligen antes que cualquier entrada.
+                if ((current >>> 1) < (victimMeta >>> 1)) {
+                    victim = slot;
+                    victimMeta = current;
+                }
+            }
+            if (victimMeta == 0) {
+                entries.increment();
+            } else {
+                evictions.increment();
+            }
+            slots[victim] = k1;
+            slots[victim + 1] = k2;
+            slots[victim + 2] = meta;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Quita un veredicto que se guardó en la tabla al encolarlo pero no se pudo persistir.
+     */
+    public void remove(DnaKey dnaKey) {
+        final byte[] key = dnaKey.bytes();
+        if (!enabled || key.length < KEY_BYTES) {
+            return;
+        }
+        final long k1 = (long) LONG_VIEW.get(key, 0);
+        final long k2 = (long) LONG_VIEW.get(key, Long.BYTES);
+        final int bucket = (int) k1 & bucketMask;
+        final StampedLock lock = locks[bucket & lockMask];
+
+        final long stamp = lock.writeLock();
+        try {
+            final int base = bucket * BUCKET_LONGS;
+            for (int slot = base; slot < base + BUCKET_LONGS; slot += SLOT_LONGS) {
+                if (slots[slot + 2] != 0 && slots[slot] == k1 && slots[slot + 1] == k2) {
+                    slots[slot] = 0;
+                    slots[slot + 1] = 0;
+                    slots[slot + 2] = 0;
+                    entries.decrement();
+                    return;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Cantidad de veredictos en la tabla.
+     */
+    public long size() {
+        return entries.sum();
+    }
+
+    /**
+     * @return Cantidad máxima de veredictos.
+     */
+    public long capacity() {
+        return enabled ? slots.length / SLOT_LONGS : 0;
+    }
+
+    public long memoryBytes() {
+        return (long) slots.length * Long.BYTES;
+    }
+
+    private long find(int bucket, long k1, long k2) {
+        final int base = bucket * BUCKET_LONGS;
+        for (int slot = base; slot < base + BUCKET_LONGS; slot += SLOT_LONGS) {
+            final long meta = slots[slot + 2];
+            if (meta != 0 && slots[slot] == k1 && slots[slot + 1] == k2) {
+                return meta;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.service;
+
+import org.example.validation.DnaBases;
+
+/**
+ * Motor de detección con largo de secuencia y umbral configurables ({@link DetectionRule}).
+ * <p>
+ * La matriz se copia a un único {@code byte[]} de N x N, fila por fila, así que avanzar en una dirección
+ * es sumar un paso fijo al índice: 1 en horizontal, N en vertical, N + 1 en la diagonal descendente y
+ * 1 - N en la ascendente. Los desplazamientos {@code k * paso} de cada dirección se calculan una vez por
+ * matriz en una tabla, en lugar de recalcular {@code row + k * dRow} y {@code col + k * dCol} en cada
+ * comparación. Con el criterio estándar cuenta las mismas secuencias que el motor escalar.
+ */
+final class FlatMutantDetector {
+
+    private static final int HORIZONTAL = 0;
+    private static final int VERTICAL = 1;
+    private static final int DIAGONAL_DOWN = 2;
+    private static final int DIAGONAL_UP = 3;
+    private static final int DIRECTIONS = 4;
+
+    private FlatMutantDetector() {
+    }
+
+    /**
+     * @return El veredicto, las celdas recorridas y las leídas, o {@code null} si la matriz es inválida.
+     */
+    static ScanResult scan(String[] dna, DetectionRule rule) {
+        final byte[] cells = load(dna);
+        return cells == null ? null : scan(cells, dna.length, rule);
+    }
+
+    /**
+     * Igual que {@link #scan(String[], DetectionRule)} para una matriz ya validada y empaquetada.
+     */
+    static ScanResult scan(PackedDnaMatrix dna, DetectionRule rule) {
+        final int n = dna.size();
+        final byte[] cells = new byte[n * n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                cells[row * n + col] = (byte) dna.baseAt(row, col);
+            }
+        }
+        return scan(cells, n, rule);
+    }
+
+    /**
+     * @param cells La matriz aplanada: la celda (fila, columna) está en {@code fila * n + columna}.
+     */
+    static ScanResult scan(byte[] cells, int n, DetectionRule rule) {
+        // Cantidad de celdas que siguen a la primera en cada secuencia.
+        final int span = rule.runLength() - 1;
+        final int lastStart = n - rule.runLength();
+        final int minSequences = rule.minSequences();
+        if (lastStart < 0) {
+            // Ninguna secuencia entra en la matriz.
+            return new ScanResult(false, (long) n * n, 0);
+        }
+        final int[] offsets = strideTable(n, span);
+        int sequenceCount = 0;
+        long cellsExamined = 0;
+
+        for (int row = 0; row < n; row++) {
+            final boolean canGoDown = row <= lastStart;
+            final boolean canGoUp = row >= span;
+            final int rowStart = row * n;
+
+            for (int col = 0; col < n; col++) {
+                final int index = rowStart + col;
+                final byte base = cells[index];
+                final boolean canGoRight = col <= lastStart;
+
+                if (canGoRight) {
+                    final int match = matchLength(cells, index, base, offsets, HORIZONTAL * span, span);
+                    cellsExamined += examinedCells(match, span);
+                    if (match == span) {
+                        sequenceCount++;
+                    }
+                }
+
+                if (canGoDown) {
+                    int match = matchLength(cells, index, base, offsets, VERTICAL * span, span);
+                    cellsExamined += examinedCells(match, span);
+                    if (match == span) {
+                        sequenceCount++;
+                    }
+
+                    if (canGoRight) {
+                        match = matchLength(cells, index, base, offsets, DIAGONAL_DOWN * span, span);
+                        cellsExamined += examinedCells(match, span);
+                        if (match == span) {
+                            sequenceCount++;
+                        }
+                    }
+                }
+
+                if (canGoUp && canGoRight) {
+                    final int match = matchLength(cells, index, base, offsets, DIAGONAL_UP * span, span);
+                    cellsExamined += examinedCells(match, span);
+                    if (match == span) {
+                        sequenceCount++;
+                    }
+                }
+
+                if (sequenceCount >= minSequences) {
+                    return new ScanResult(true, (long) index + 1, cellsExamined);
+                }
+            }
+        }
+
+        return new ScanResult(false, (long) n * n, cellsExamined);
+    }
+
+    /**
+     * Tabla de desplazamientos: la entrada {@code direction * span + (k - 1)} es el desplazamiento de
+     * índice de la celda {@code k} de una secuencia en esa dirección.
+     */
+    static int[] strideTable(int n, int span) {
+        final int[] strides = new int[DIRECTIONS];
+        strides[HORIZONTAL] = 1;
+        strides[VERTICAL] = n;
+        strides[DIAGONAL_DOWN] = n + 1;
+        strides[DIAGONAL_UP] = 1 - n;
+        final int[] offsets = new int[DIRECTIONS * span];
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            for (int k = 1; k <= span; k++) {
+                offsets[direction * span + k - 1] = k * strides[direction];
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * @return Cuántas de las {@code span} celdas que siguen a la inicial son iguales a ella, sin saltear ninguna.
+     */
+    private static int matchLength(byte[] cells, int index, byte base, int[] offsets, int from, int span) {
+        int matched = 0;
+        while (matched < span && cells[index + offsets[from + matched]] == base) {
+            matched++;
+        }
+        return matched;
+    }
+
+    /**
+     * @return Las celdas leídas: la inicial, las iguales y la primera distinta, si la hubo.
+     */
+    private static int examinedCells(int matched, int span) {
+        return matched == span ? matched + 1 : matched + 2;
+    }
+
+    /**
+     * Valida las filas y las copia a la matriz aplanada. Las bases válidas son ASCII, así que el byte
+     * bajo de cada carácter las identifica.
+     *
+     * @return La matriz aplanada, o {@code null} si alguna fila es inválida.
+     */
+    private static byte[] load(String[] dna) {
+        if (dna == null || dna.length == 0) {
+            return null;
+        }
+        final int n = dna.length;
+        final byte[] cells = new byte[n * n];
+        for (int row = 0; row < n; row++) {
+            final String chars = dna[row];
+            if (chars == null || chars.length() != n || !DnaBases.areValidBases(chars)) {
+                return null;
+            }
+            for (int col = 0; col < n; col++) {
+                cells[row * n + col] = (byte) chars.charAt(col);
+            }
+        }
+        return cells;
+    }
+}
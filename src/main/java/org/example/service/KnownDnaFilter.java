@@ -0,0 +1,152 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.example.repository.VerdictStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Filtro probabilístico de ADN "nunca visto" delante de la búsqueda en la base de datos.
+ * <p>
+ * Contiene todas las claves del {@link VerdictStore} ({@code dna_records} por defecto) en un
+ * {@link DnaBloomFilter}: si el filtro responde que una clave no está, es seguro que el ADN es nuevo
+ * y {@link MutantService} omite la búsqueda. Se carga al iniciar la aplicación y se actualiza con cada inserción; mientras no termina
+ * de cargarse, todas las claves se consideran posibles y se consulta la base de datos como antes.
+ * <p>
+ * {@link #rebuild()} vuelve a leer la tabla en un filtro nuevo sin detener el tráfico: durante la
+ * reconstrucción las claves agregadas se escriben en ambos filtros, y el nuevo reemplaza al actual
+ * al terminar. Con write-behind, una clave se agrega al encolarla, antes de estar en el almacén; por eso el
+ * filtro nuevo también recibe las claves que {@link DnaRecordWriteBehind} todavía no guardó. Se expone en {@code /actuator/dnafilter} (ver {@link KnownDnaFilterEndpoint}).
+ */
+@Slf4j
+@Component
+public class KnownDnaFilter {
+
+    private final VerdictStore verdictStore;
+    private final DnaRecordWriteBehind writeBehind;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long maxMemoryBytes;
+
+    private final LongAdder skippedLookups = new LongAdder();
+    /** Serializa las reconstrucciones; no es un monitor porque se toma mientras se lee todo el almacén. */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile DnaBloomFilter current;
+    private volatile DnaBloomFilter pending;
+
+    public KnownDnaFilter(VerdictStore verdictStore,
+                          DnaRecordWriteBehind writeBehind,
+                          @Value("${mutant.filter.enabled:true}") boolean enabled,
+                          @Value("${mutant.filter.expected-insertions:1000000}") long expectedInsertions,
+                          @Value("${mutant.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${mutant.filter.max-memory-bytes:16777216}") long maxMemoryBytes) {
+        this.verdictStore = verdictStore;
+        this.writeBehind = writeBehind;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * @param dnaKey La clave del ADN.
+     * @return {@code false} solo si es seguro que la clave no está en la base de datos.
+     */
+    public boolean mightContain(DnaKey dnaKey) {
+        final DnaBloomFilter filter = current;
+        if (filter == null || filter.mightContain(dnaKey)) {
+            return true;
+        }
+        skippedLookups.increment();
+        return false;
+    }
+
+    /**
+     * Registra una clave insertada (o encolada para insertar) en la base de datos.
+     */
+    public void add(DnaKey dnaKey) {
+        // Se lee primero el filtro en construcción: si ya no hay ninguno, el reemplazo terminó
+        // y la lectura siguiente de current ve el filtro nuevo.
+        final DnaBloomFilter next = pending;
+        final DnaBloomFilter filter = current;
+        if (next != null) {
+            next.put(dnaKey);
+        }
+        if (filter != null && filter != next) {
+            filter.put(dnaKey);
+        }
+    }
+
+    /**
+     * Carga el filtro al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruye el filtro desde el {@link VerdictStore}. Se dimensiona para el doble de las filas
+     * actuales (o {@code mutant.filter.expected-insertions} si es mayor), de modo que también sirve
+     * para recuperar la tasa de falsos positivos después de mucho crecimiento.
+     * Con {@code mutant.filter.enabled=false} no hace nada.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        final DnaBloomFilter next;
+        rebuildLock.lock();
+        try {
+            final long rows = verdictStore.count();
+            next = DnaBloomFilter.create(Math.max(expectedInsertions, 2 * rows), falsePositiveRate, maxMemoryBytes);
+            pending = next;
+            try {
+                // Un add que terminó antes de publicar pending solo llegó al filtro anterior. Si la clave
+                // sigue en el write-behind se copia aquí; si no, ya se guardó y la lectura del almacén la ve.
+                writeBehind.forEachPendingKey(next::put);
+                verdictStore.forEachDnaKey(next::put);
+                current = next;
+            } finally {
+                pending = null;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+
+        if (next.expectedFalsePositiveRate() > falsePositiveRate) {
+            log.warn("Filtro de ADN conocido limitado por memoria ({} bytes): tasa de falsos positivos estimada {}",
+                    next.memoryBytes(), next.expectedFalsePositiveRate());
+        }
+        log.info("Filtro de ADN conocido cargado: {} claves, {} bits, {} funciones hash",
+                next.insertions(), next.bitSize(), next.hashFunctions());
+    }
+
+    /**
+     * @return El estado actual del filtro.
+     */
+    public Snapshot snapshot() {
+        final DnaBloomFilter filter = current;
+        if (filter == null) {
+            return new Snapshot(enabled, false, 0, 0, 0, 0, 0.0, skippedLookups.sum());
+        }
+        return new Snapshot(enabled, true, filter.bitSize(), filter.hashFunctions(), filter.memoryBytes(),
+                filter.insertions(), filter.expectedFalsePositiveRate(), skippedLookups.sum());
+    }
+
+    /**
+     * Estado del filtro publicado por el endpoint de actuator.
+     *
+     * @param skippedLookups Búsquedas en la base de datos omitidas desde el inicio.
+     */
+    public record Snapshot(boolean enabled, boolean loaded, long bitSize, int hashFunctions, long memoryBytes,
+                           long insertions, double expectedFalsePositiveRate, long skippedLookups) {
+    }
+}
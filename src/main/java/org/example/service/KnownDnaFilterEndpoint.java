@@ -0,0 +1,31 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de actuator del {@link KnownDnaFilter}.
+ * {@code GET /actuator/dnafilter} devuelve su estado y {@code POST /actuator/dnafilter} lo reconstruye
+ * desde la base de datos.
+ */
+@Component
+@Endpoint(id = "dnafilter")
+@RequiredArgsConstructor
+public class KnownDnaFilterEndpoint {
+
+    private final KnownDnaFilter knownDnaFilter;
+
+    @ReadOperation
+    public KnownDnaFilter.Snapshot status() {
+        return knownDnaFilter.snapshot();
+    }
+
+    @WriteOperation
+    public KnownDnaFilter.Snapshot rebuild() {
+        knownDnaFilter.rebuild();
+        return knownDnaFilter.snapshot();
+    }
+}
@@ -1,15 +1,98 @@
 package org.example.service;
 
+import lombok.extern.slf4j.Slf4j;
+import org.example.validation.DnaBases;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-
+@Slf4j
 @Service
 public class MutantDetector {
 
     private static final int SEQUENCE_LENGTH = 4;
     private static final int MIN_SEQUENCES_FOR_MUTANT = 2;
-    private static final Set<Character> VALID_BASES = Set.of('A', 'T', 'C', 'G');
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+
+    /**
+     * {@code true} si la JVM arrancó con {@code --add-modules jdk.incubator.vector}, que necesita el motor
+     * {@link DetectionEngine#VECTOR}.
+     */
+    static final boolean VECTOR_API_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final DetectionEngine engine;
+    private final int parallelThreshold;
+    private final DnaMetrics metrics;
+    private final boolean countCellsExamined;
+
+    /**
+     * Crea un detector con el motor escalar original.
+     */
+    public MutantDetector() {
+        this(DetectionEngine.SCALAR);
+    }
+
+    /**
+     * @param engine Motor de detección.
+     */
+    public MutantDetector(DetectionEngine engine) {
+        this(engine, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param engine            Motor de detección.
+     * @param parallelThreshold Tamaño N mínimo a partir del cual el motor {@link DetectionEngine#PARALLEL}
+     *                          reparte la matriz entre hilos; por debajo se usa el recorrido secuencial.
+     */
+    public MutantDetector(DetectionEngine engine, int parallelThreshold) {
+        this(engine, parallelThreshold, DnaMetrics.noop());
+    }
+
+    /**
+     * @param engine            Motor de detección.
+     * @param parallelThreshold Ver {@link #MutantDetector(DetectionEngine, int)}.
+     * @param metrics           Métricas donde se registran la duración, el tamaño y las celdas recorridas.
+     */
+    public MutantDetector(DetectionEngine engine, int parallelThreshold, DnaMetrics metrics) {
+        this(engine, parallelThreshold, metrics, false);
+    }
+
+    /**
+     * @param engine             Motor de detección configurado en {@code mutant.detector.engine}.
+     * @param parallelThreshold  Ver {@link #MutantDetector(DetectionEngine, int)}.
+     * @param metrics            Métricas donde se registran la duración, el tamaño y las celdas recorridas.
+     * @param countCellsExamined Si el motor {@link DetectionEngine#SCALAR} cuenta las celdas leídas. Sin la
+     *                           cuenta usa el recorrido original y no publica {@code dna.detect.cells.examined}.
+     */
+    @Autowired
+    public MutantDetector(@Value("${mutant.detector.engine:SCALAR}") DetectionEngine engine,
+                          @Value("${mutant.detector.parallel-threshold:" + DEFAULT_PARALLEL_THRESHOLD + "}") int parallelThreshold,
+                          DnaMetrics metrics,
+                          @Value("${mutant.detector.count-cells-examined:false}") boolean countCellsExamined) {
+        this.engine = availableEngine(engine);
+        this.parallelThreshold = parallelThreshold;
+        this.metrics = metrics;
+        this.countCellsExamined = countCellsExamined;
+    }
+
+    /**
+     * @return El motor en uso, que puede ser {@link DetectionEngine#SCALAR} si el configurado no está disponible.
+     */
+    DetectionEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Reemplaza {@link DetectionEngine#VECTOR} por el motor escalar cuando el módulo de la Vector API
+     * no está en la JVM, en lugar de fallar al cargar {@link VectorMutantDetector}.
+     */
+    private static DetectionEngine availableEngine(DetectionEngine engine) {
+        if (engine == DetectionEngine.VECTOR && !VECTOR_API_AVAILABLE) {
+            log.warn("El motor VECTOR necesita --add-modules jdk.incubator.vector; se usa el motor SCALAR.");
+            return DetectionEngine.SCALAR;
+        }
+        return engine;
+    }
 
     /**
      * Detecta si un humano es mutante basándose en su secuencia de ADN.
@@ -20,16 +103,193 @@ public class MutantDetector {
      * @return {@code true} si es mutante, {@code false} en caso contrario.
      */
     public boolean isMutant(String[] dna) {
-        if (!isDnaMatrixValid(dna)) {
+        final long start = System.nanoTime();
+        final ScanResult result = scan(dna);
+        if (result == null) {
             return false;
         }
+        metrics.recordDetection(dna.length, result.mutant(), result.cellsScanned(), result.cellsExamined(),
+                System.nanoTime() - start);
+        return result.mutant();
+    }
 
-        final int n = dna.length;
-        final char[][] matrix = toCharMatrix(dna);
+    /**
+     * Detecta mutantes sobre una matriz ya validada y empaquetada (por ejemplo, por el lector del
+     * cuerpo de {@code POST /mutant}) con el motor configurado. {@link DetectionEngine#BIT_PACKED} trabaja
+     * directamente sobre ese formato; {@link DetectionEngine#VECTOR} y {@link DetectionEngine#ROLLING}
+     * desempaquetan de a una fila y los demás, a la matriz de caracteres que ya recorren. Ninguno crea Strings.
+     *
+     * @param dna La matriz NxN empaquetada (N >= 4).
+     * @return {@code true} si es mutante, {@code false} en caso contrario.
+     */
+    public boolean isMutantPacked(PackedDnaMatrix dna) {
+        final long start = System.nanoTime();
+        final ScanResult result = scan(dna);
+        metrics.recordDetection(dna.size(), result.mutant(), result.cellsScanned(), result.cellsExamined(),
+                System.nanoTime() - start);
+        return result.mutant();
+    }
+
+    /**
+     * Igual que {@link #isMutant(String[])} con otro criterio de mutante. El criterio estándar usa el motor
+     * configurado; los demás, {@link FlatMutantDetector}.
+     *
+     * @param dna  La matriz NxN que representa la secuencia de ADN.
+     * @param rule Largo de secuencia y cantidad de secuencias necesarias.
+     * @return {@code true} si es mutante según el criterio, {@code false} en caso contrario.
+     */
+    public boolean isMutant(String[] dna, DetectionRule rule) {
+        if (rule.isDefault()) {
+            return isMutant(dna);
+        }
+        final long start = System.nanoTime();
+        final ScanResult result = FlatMutantDetector.scan(dna, rule);
+        if (result == null) {
+            return false;
+        }
+        metrics.recordDetection(dna.length, result.mutant(), result.cellsScanned(), result.cellsExamined(),
+                System.nanoTime() - start);
+        return result.mutant();
+    }
+
+    /**
+     * Igual que {@link #isMutantPacked(PackedDnaMatrix)} con otro criterio de mutante (ver
+     * {@link #isMutant(String[], DetectionRule)}).
+     */
+    public boolean isMutantPacked(PackedDnaMatrix dna, DetectionRule rule) {
+        if (rule.isDefault()) {
+            return isMutantPacked(dna);
+        }
+        final long start = System.nanoTime();
+        final ScanResult result = FlatMutantDetector.scan(dna, rule);
+        metrics.recordDetection(dna.size(), result.mutant(), result.cellsScanned(), result.cellsExamined(),
+                System.nanoTime() - start);
+        return result.mutant();
+    }
+
+    /**
+     * Modo reporte de {@link #isMutantPacked(PackedDnaMatrix)}: además del veredicto devuelve las
+     * secuencias encontradas (posición de inicio, dirección y base), codificadas en un {@code int[]}.
+     * La búsqueda se corta al encontrar {@code maxRuns} secuencias, así que con {@code maxRuns = 2} recorre
+     * lo mismo que el veredicto solo; con más, recorre la matriz hasta juntarlas o hasta el final.
+     * Usa el motor {@link DetectionEngine#BIT_PACKED}; el camino de {@link #isMutant(String[])} no cambia
+     * ni reserva memoria para el reporte.
+     *
+     * @param dna     La matriz NxN empaquetada (N >= 4).
+     * @param maxRuns Cantidad máxima de secuencias a informar, entre 2 y {@link RunReport#MAX_RUNS}.
+     * @return El reporte; es mutante si tiene al menos 2 secuencias.
+     */
+    public RunReport reportPacked(PackedDnaMatrix dna, int maxRuns) {
+        if (maxRuns < MIN_SEQUENCES_FOR_MUTANT || maxRuns > RunReport.MAX_RUNS) {
+            throw new IllegalArgumentException("La cantidad de secuencias a informar debe estar entre "
+                    + MIN_SEQUENCES_FOR_MUTANT + " y " + RunReport.MAX_RUNS + ": " + maxRuns);
+        }
+        return BitPackedMutantDetector.report(dna, MIN_SEQUENCES_FOR_MUTANT, maxRuns);
+    }
+
+    /**
+     * Igual que {@link #reportPacked(PackedDnaMatrix, int)} para una matriz en Strings.
+     *
+     * @return El reporte, o {@code null} si el ADN es inválido.
+     */
+    public RunReport report(String[] dna, int maxRuns) {
+        final PackedDnaMatrix packed = PackedDnaMatrix.pack(dna, SEQUENCE_LENGTH);
+        return packed == null ? null : reportPacked(packed, maxRuns);
+    }
+
+    /**
+     * Ejecuta el motor configurado.
+     *
+     * @return El veredicto y las celdas recorridas, o {@code null} si el ADN es inválido.
+     */
+    private ScanResult scan(String[] dna) {
+        if (engine == DetectionEngine.BIT_PACKED) {
+            // El empaquetado valida forma y caracteres en la misma pasada.
+            PackedDnaMatrix packed = PackedDnaMatrix.pack(dna, SEQUENCE_LENGTH);
+            return packed == null ? null : BitPackedMutantDetector.scan(packed, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        if (dna == null || dna.length < SEQUENCE_LENGTH) {
+            return null;
+        }
+
+        if (engine == DetectionEngine.PARALLEL && dna.length >= parallelThreshold) {
+            return ParallelMutantDetector.scan(dna, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        if (engine == DetectionEngine.VECTOR) {
+            return VectorMutantDetector.scan(dna, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        if (engine == DetectionEngine.STRIDED) {
+            return StridedMutantDetector.scan(dna, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        if (engine == DetectionEngine.ROLLING) {
+            return RollingMutantDetector.scan(dna, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        return scanScalar(dna, new char[dna.length][], 0, countCellsExamined);
+    }
+
+    /**
+     * Ejecuta el motor configurado sobre una matriz empaquetada, que ya es válida.
+     */
+    private ScanResult scan(PackedDnaMatrix dna) {
+        if (engine == DetectionEngine.BIT_PACKED) {
+            return BitPackedMutantDetector.scan(dna, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        if (engine == DetectionEngine.VECTOR) {
+            return VectorMutantDetector.scan(dna, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        if (engine == DetectionEngine.ROLLING) {
+            return RollingMutantDetector.scan(dna, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        final char[][] matrix = dna.toCharRows();
+
+        if (engine == DetectionEngine.PARALLEL && dna.size() >= parallelThreshold) {
+            return ParallelMutantDetector.scan(matrix, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        if (engine == DetectionEngine.STRIDED) {
+            return StridedMutantDetector.scan(matrix, MIN_SEQUENCES_FOR_MUTANT);
+        }
+
+        return scanScalar(null, matrix, matrix.length, countCellsExamined);
+    }
+
+    /**
+     * Motor escalar original.
+     *
+     * @param dna          Las filas que faltan cargar, o {@code null} si {@code matrix} ya está completa.
+     * @param matrix       La matriz de caracteres, con las filas {@code [0, loadedRows)} ya validadas.
+     * @param loadedRows   Cantidad de filas ya cargadas en {@code matrix}.
+     * @param instrumented Si se cuentan las celdas leídas (ver {@link #scanScalarCountingCells}).
+     * @return El veredicto y las celdas recorridas, o {@code null} si el ADN es inválido.
+     */
+    private static ScanResult scanScalar(String[] dna, char[][] matrix, int loadedRows, boolean instrumented) {
+        if (instrumented) {
+            return scanScalarCountingCells(dna, matrix, loadedRows);
+        }
+        final int n = matrix.length;
         int sequenceCount = 0;
 
         // Búsqueda en un solo recorrido (Single Pass)
         for (int row = 0; row < n; row++) {
+            // Validación fusionada: cada fila se valida mientras se copia, justo antes de que
+            // la búsqueda la necesite (las verticales y diagonales leen hasta 3 filas más abajo).
+            final int neededRows = Math.min(n, row + SEQUENCE_LENGTH);
+            while (loadedRows < neededRows) {
+                matrix[loadedRows] = toValidRow(dna[loadedRows], n);
+                if (matrix[loadedRows] == null) {
+                    return null;
+                }
+                loadedRows++;
+            }
+
             for (int col = 0; col < n; col++) {
                 // Optimización: Boundary Checking
                 // Solo buscar si hay espacio suficiente desde la posición actual.
@@ -63,52 +323,115 @@ public class MutantDetector {
                 }
 
                 // Optimización Crítica: Early Termination
-                // Si ya encontramos más de una secuencia, es mutante. No hay que seguir.
+                // Si ya encontramos más de una secuencia, es mutante. No hay que seguir buscando,
+                // solo validar las filas que todavía no se leyeron.
                 if (sequenceCount >= MIN_SEQUENCES_FOR_MUTANT) {
-                    return true;
+                    return dna == null || areRemainingRowsValid(dna, loadedRows)
+                            ? new ScanResult(true, (long) row * n + col + 1, ScanResult.NOT_COUNTED)
+                            : null;
                 }
             }
         }
 
-        return false;
+        return new ScanResult(false, (long) n * n, ScanResult.NOT_COUNTED);
     }
 
     /**
-     * Valida la matriz de ADN.
-     * - No debe ser nula o vacía.
-     * - Debe ser cuadrada (NxN).
-     * - Debe tener un tamaño mínimo de 4x4.
-     * - Solo debe contener caracteres válidos (A, T, C, G).
+     * Igual que {@link #scanScalar} contando además las celdas que lee cada comprobación de dirección, para
+     * la métrica {@code dna.detect.cells.examined} y las comparaciones entre motores. Es un recorrido aparte
+     * para que el original no pague la cuenta.
      */
-    private boolean isDnaMatrixValid(String[] dna) {
-        if (dna == null || dna.length < SEQUENCE_LENGTH) {
-            return false;
-        }
+    private static ScanResult scanScalarCountingCells(String[] dna, char[][] matrix, int loadedRows) {
+        final int n = matrix.length;
+        int sequenceCount = 0;
+        long cellsExamined = 0;
 
-        final int n = dna.length;
-        for (String row : dna) {
-            if (row == null || row.length() != n) {
-                return false; // No es cuadrada o una fila es nula
+        for (int row = 0; row < n; row++) {
+            final int neededRows = Math.min(n, row + SEQUENCE_LENGTH);
+            while (loadedRows < neededRows) {
+                matrix[loadedRows] = toValidRow(dna[loadedRows], n);
+                if (matrix[loadedRows] == null) {
+                    return null;
+                }
+                loadedRows++;
             }
-            for (char base : row.toCharArray()) {
-                if (!VALID_BASES.contains(base)) {
-                    return false; // Carácter inválido
+
+            for (int col = 0; col < n; col++) {
+                // Búsqueda Horizontal (→)
+                if (col <= n - SEQUENCE_LENGTH) {
+                    final int match = matchLength(matrix, row, col, 0, 1);
+                    cellsExamined += examinedCells(match);
+                    if (match == SEQUENCE_LENGTH) {
+                        sequenceCount++;
+                    }
+                }
+
+                // Búsqueda Vertical (↓)
+                if (row <= n - SEQUENCE_LENGTH) {
+                    final int match = matchLength(matrix, row, col, 1, 0);
+                    cellsExamined += examinedCells(match);
+                    if (match == SEQUENCE_LENGTH) {
+                        sequenceCount++;
+                    }
+                }
+
+                // Búsqueda Diagonal Descendente (↘)
+                if (row <= n - SEQUENCE_LENGTH && col <= n - SEQUENCE_LENGTH) {
+                    final int match = matchLength(matrix, row, col, 1, 1);
+                    cellsExamined += examinedCells(match);
+                    if (match == SEQUENCE_LENGTH) {
+                        sequenceCount++;
+                    }
+                }
+
+                // Búsqueda Diagonal Ascendente (↗)
+                if (row >= SEQUENCE_LENGTH - 1 && col <= n - SEQUENCE_LENGTH) {
+                    final int match = matchLength(matrix, row, col, -1, 1);
+                    cellsExamined += examinedCells(match);
+                    if (match == SEQUENCE_LENGTH) {
+                        sequenceCount++;
+                    }
+                }
+
+                // Early Termination
+                if (sequenceCount >= MIN_SEQUENCES_FOR_MUTANT) {
+                    return dna == null || areRemainingRowsValid(dna, loadedRows)
+                            ? new ScanResult(true, (long) row * n + col + 1, cellsExamined)
+                            : null;
                 }
             }
         }
-        return true;
+
+        return new ScanResult(false, (long) n * n, cellsExamined);
+    }
+
+    /**
+     * Valida una fila y la copia a un array de caracteres en la misma pasada.
+     * - No debe ser nula.
+     * - Debe tener largo N (matriz cuadrada).
+     * - Solo debe contener caracteres válidos (A, T, C, G).
+     *
+     * @return La fila como {@code char[]}, o {@code null} si es inválida.
+     */
+    static char[] toValidRow(String row, int n) {
+        if (row == null || row.length() != n) {
+            return null; // No es cuadrada o una fila es nula
+        }
+        final char[] chars = row.toCharArray();
+        return DnaBases.areValidBases(chars) ? chars : null;
     }
 
     /**
-     * Convierte un array de Strings a una matriz de caracteres para acceso más eficiente.
+     * Valida, sin copiarlas, las filas que la búsqueda no llegó a leer por el corte temprano.
      */
-    private char[][] toCharMatrix(String[] dna) {
+    private static boolean areRemainingRowsValid(String[] dna, int fromRow) {
         final int n = dna.length;
-        char[][] matrix = new char[n][n];
-        for (int i = 0; i < n; i++) {
-            matrix[i] = dna[i].toCharArray();
+        for (int row = fromRow; row < n; row++) {
+            if (dna[row] == null || dna[row].length() != n || !DnaBases.areValidBases(dna[row])) {
+                return false;
+            }
         }
-        return matrix;
+        return true;
     }
 
     /**
@@ -121,7 +444,7 @@ public class MutantDetector {
      * @param dCol   Delta de columna (1 para derecha, 0 para vertical).
      * @return {@code true} si se encontró una secuencia.
      */
-    private boolean checkSequence(char[][] matrix, int row, int col, int dRow, int dCol) {
+    static boolean checkSequence(char[][] matrix, int row, int col, int dRow, int dCol) {
         final char base = matrix[row][col];
         // Optimización: Comparación Directa
         for (int i = 1; i < SEQUENCE_LENGTH; i++) {
@@ -131,4 +454,32 @@ public class MutantDetector {
         }
         return true;
     }
+
+    /**
+     * Mide cuántas letras iguales a la inicial hay en una dirección específica, hasta 4.
+     *
+     * @param matrix La matriz de ADN.
+     * @param row    Fila inicial.
+     * @param col    Columna inicial.
+     * @param dRow   Delta de fila (1 para abajo, -1 para arriba, 0 para horizontal).
+     * @param dCol   Delta de columna (1 para derecha, 0 para vertical).
+     * @return Entre 1 y 4; 4 indica que se encontró una secuencia.
+     */
+    static int matchLength(char[][] matrix, int row, int col, int dRow, int dCol) {
+        final char base = matrix[row][col];
+        // Optimización: Comparación Directa
+        int length = 1;
+        while (length < SEQUENCE_LENGTH && matrix[row + length * dRow][col + length * dCol] == base) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * @param matchLength Resultado de {@link #matchLength}.
+     * @return Las celdas leídas para obtenerlo: las iguales más la primera distinta, si la hubo.
+     */
+    static int examinedCells(int matchLength) {
+        return matchLength == SEQUENCE_LENGTH ? SEQUENCE_LENGTH : matchLength + 1;
+    }
 }
@@ -1,88 +1,334 @@
 package org.example.service;
 
-import lombok.RequiredArgsConstructor;
+import org.example.entity.DnaKey;
 import org.example.entity.DnaRecord;
 import org.example.exception.DnaHashCalculationException;
-import org.example.repository.DnaRecordRepository;
+import org.example.repository.VerdictStore;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
 
 @Service
-@RequiredArgsConstructor
 public class MutantService {
 
     private final MutantDetector mutantDetector;
-    private final DnaRecordRepository dnaRecordRepository;
+    private final VerdictStore verdictStore;
+    private final DnaVerdictTable verdictTable;
+    private final DnaVerdictCache verdictCache;
+    private final DnaStatsCounters statsCounters;
+    private final DnaRecordWriteBehind writeBehind;
+    private final KnownDnaFilter knownDnaFilter;
+    private final DnaMetrics metrics;
+    private final DnaStatsWindow statsWindow;
+    private final DnaHashAlgorithm hashAlgorithm;
+
+    private final SingleFlight<DnaKey, Boolean> inFlight = new SingleFlight<>();
+
+    public MutantService(MutantDetector mutantDetector,
+                         VerdictStore verdictStore,
+                         DnaVerdictTable verdictTable,
+                         DnaVerdictCache verdictCache,
+                         DnaStatsCounters statsCounters,
+                         DnaRecordWriteBehind writeBehind,
+                         KnownDnaFilter knownDnaFilter,
+                         DnaMetrics metrics,
+                         DnaStatsWindow statsWindow,
+                         @Value("${mutant.hash.algorithm:SHA_256}") DnaHashAlgorithm hashAlgorithm) {
+        this.mutantDetector = mutantDetector;
+        this.verdictStore = verdictStore;
+        this.verdictTable = verdictTable;
+        this.verdictCache = verdictCache;
+        this.statsCounters = statsCounters;
+        this.writeBehind = writeBehind;
+        this.knownDnaFilter = knownDnaFilter;
+        this.metrics = metrics;
+        this.statsWindow = statsWindow;
+        this.hashAlgorithm = hashAlgorithm;
+    }
 
     /**
      * Analiza una secuencia de ADN, determina si es mutante y persiste el resultado.
-     * Implementa una estrategia de caché (write-through) usando la base de datos.
-     * Si el ADN ya fue analizado, devuelve el resultado almacenado sin recalcular.
+     * Implementa una estrategia de caché en tres niveles: primero la {@link DnaVerdictTable} de arrays
+     * primitivos, luego la caché en memoria y por último el {@link VerdictStore} configurado (la base de
+     * datos por defecto). Si el ADN ya fue analizado, devuelve el resultado almacenado sin recalcular.
+     * La búsqueda en el almacén se omite cuando el {@link KnownDnaFilter} asegura que el ADN nunca se vio.
+     * <p>
+     * Con el modo write-behind activo, el registro nuevo se encola y se guarda en segundo plano
+     * (ver {@link DnaRecordWriteBehind}); si la cola está llena se guarda de forma síncrona.
+     * <p>
+     * Las peticiones concurrentes con el mismo ADN que no están en la caché se agrupan por hash
+     * ({@link SingleFlight}): una sola ejecuta la búsqueda, la detección y la inserción, y las
+     * demás esperan y reciben su veredicto.
+     * <p>
+     * No se abre una transacción envolvente: la búsqueda y la inserción usan cada una la
+     * transacción del repositorio, de modo que si otra petición concurrente insertó el mismo
+     * ADN primero, la violación del índice único se puede capturar sin invalidar la operación.
      *
      * @param dna La secuencia de ADN a analizar.
      * @return {@code true} si el ADN es mutante, {@code false} si es humano.
      */
-    @Transactional
     public boolean analyzeDna(String[] dna) {
-        String dnaHash = calculateDnaHash(dna);
+        return analyze(calculateDnaHash(dna), () -> mutantDetector.isMutant(dna));
+    }
+
+    /**
+     * Igual que {@link #analyzeDna(String[])} para una matriz que ya llega validada y empaquetada
+     * desde el cuerpo de la petición: el hash se calcula sobre la matriz empaquetada y la detección usa el
+     * motor configurado (ver {@link MutantDetector#isMutantPacked(PackedDnaMatrix)}).
+     * El hash coincide con el de la misma matriz en Strings, así que ambos caminos comparten registros.
+     *
+     * @param dna La matriz de ADN empaquetada.
+     * @return {@code true} si el ADN es mutante, {@code false} si es humano.
+     */
+    public boolean analyzePackedDna(PackedDnaMatrix dna) {
+        return analyze(calculateDnaHash(dna), () -> mutantDetector.isMutantPacked(dna));
+    }
+
+    /**
+     * Igual que {@link #analyzePackedDna(PackedDnaMatrix)} con otro criterio de mutante. Los veredictos
+     * guardados, la caché y {@code /stats} corresponden al criterio estándar, así que con otro criterio
+     * el ADN solo se analiza: no se busca ni se guarda.
+     *
+     * @param dna  La matriz de ADN empaquetada.
+     * @param rule El criterio elegido por {@link DetectionRules}.
+     * @return {@code true} si el ADN es mutante según el criterio.
+     */
+    public boolean analyzePackedDna(PackedDnaMatrix dna, DetectionRule rule) {
+        if (rule.isDefault()) {
+            return analyzePackedDna(dna);
+        }
+        return mutantDetector.isMutantPacked(dna, rule);
+    }
+
+    /**
+     * Modo reporte de {@link #analyzePackedDna(PackedDnaMatrix)}: las secuencias encontradas no se
+     * guardan, así que la detección se ejecuta siempre, aunque el veredicto ya esté guardado. El veredicto
+     * del reporte pasa por el mismo camino de caché, persistencia y estadísticas que el de
+     * {@link #analyzePackedDna(PackedDnaMatrix)}.
+     *
+     * @param dna     La matriz de ADN empaquetada.
+     * @param maxRuns Cantidad máxima de secuencias a informar (ver {@link MutantDetector#reportPacked}).
+     * @return El veredicto y las secuencias encontradas.
+     */
+    public RunReport reportPackedDna(PackedDnaMatrix dna, int maxRuns) {
+        final RunReport report = mutantDetector.reportPacked(dna, maxRuns);
+        analyze(calculateDnaHash(dna), report::isMutant);
+        return report;
+    }
+
+    private boolean analyze(DnaKey dnaHash, BooleanSupplier detection) {
+        // 1. Buscar en la tabla de veredictos y luego en la caché en memoria
+        Boolean cachedVerdict = lookupInMemory(dnaHash);
+        if (cachedVerdict != null) {
+            statsWindow.record(cachedVerdict, true);
+            return cachedVerdict;
+        }
 
-        // 1. Buscar en la "caché" (base de datos)
-        Optional<DnaRecord> existingRecord = dnaRecordRepository.findByDnaHash(dnaHash);
-        if (existingRecord.isPresent()) {
-            return existingRecord.get().isMutant(); // Devuelve el resultado cacheado
+        boolean isMutant = inFlight.execute(dnaHash, () -> resolve(dnaHash, detection));
+        statsWindow.record(isMutant, false);
+        return isMutant;
+    }
+
+    /**
+     * Resuelve un ADN que no está en la caché: lo busca en la base de datos o lo analiza y lo guarda.
+     * Se ejecuta una sola vez por hash entre las peticiones concurrentes.
+     */
+    private boolean resolve(DnaKey dnaHash, BooleanSupplier detection) {
+        // 2. Buscar en la base de datos, salvo que el filtro descarte el hash
+        if (knownDnaFilter.mightContain(dnaHash)) {
+            final long lookupStart = System.nanoTime();
+            Optional<Boolean> storedVerdict = verdictStore.findVerdict(dnaHash);
+            metrics.recordLookup(storedVerdict.isPresent(), System.nanoTime() - lookupStart);
+            if (storedVerdict.isPresent()) {
+                boolean isMutant = storedVerdict.get();
+                remember(dnaHash, isMutant);
+                return isMutant;
+            }
         }
 
-        // 2. Si no está en caché, analizar
-        boolean isMutant = mutantDetector.isMutant(dna);
+        // 3. Si no está en ninguna, analizar
+        boolean isMutant = detection.getAsBoolean();
 
-        // 3. Guardar el nuevo resultado en la base de datos
+        // 4. Guardar el nuevo resultado en la base de datos
         DnaRecord newRecord = new DnaRecord();
-        newRecord.setDnaHash(dnaHash);
+        newRecord.setDnaKey(dnaHash);
         newRecord.setMutant(isMutant);
-        dnaRecordRepository.save(newRecord);
+        if (writeBehind.isEnabled()) {
+            // Modo write-behind: se responde sin esperar la inserción. El veredicto se cachea antes de
+            // encolarlo, para que un reenvío del mismo ADN no se vuelva a analizar mientras está en la
+            // cola y para que, si el lote falla, el escritor lo quite después de que se guardó y no antes.
+            remember(dnaHash, isMutant);
+            if (writeBehind.enqueue(newRecord)) {
+                knownDnaFilter.add(dnaHash);
+                return isMutant;
+            }
+            // Cola llena: se guarda de forma síncrona y el veredicto vuelve a la memoria solo si se guardó.
+            forget(dnaHash);
+        }
+        final long saveStart = System.nanoTime();
+        // Si no se inserta, otra petición guardó el mismo ADN entre la búsqueda y el guardado.
+        // El veredicto es determinístico para el mismo ADN, así que el registro existente coincide.
+        final boolean inserted = verdictStore.insert(newRecord);
+        metrics.recordSave(inserted, System.nanoTime() - saveStart);
+        if (inserted) {
+            statsCounters.recordInsert(isMutant);
+        }
+        knownDnaFilter.add(dnaHash);
+        remember(dnaHash, isMutant);
 
         return isMutant;
     }
 
     /**
-     * Calcula el hash SHA-256 de una secuencia de ADN.
+     * Analiza un lote de secuencias de ADN con el mismo criterio que {@link #analyzeDna(String[])},
+     * pero agrupando el trabajo: los hashes desconocidos se buscan con una sola consulta {@code IN},
+     * la detección corre en paralelo en todos los núcleos y los registros nuevos se insertan
+     * con un único JDBC batch (o una sola escritura del log, con {@code mutant.store.type=LOG}).
+     * Las secuencias repetidas dentro del lote se analizan una sola vez.
+     *
+     * @param dnas Las secuencias de ADN a analizar.
+     * @return Un array paralelo a {@code dnas} con {@code true} para cada ADN mutante.
+     */
+    public boolean[] analyzeBatch(List<String[]> dnas) {
+        final int size = dnas.size();
+        final DnaKey[] hashes = new DnaKey[size];
+        IntStream.range(0, size).parallel().forEach(i -> hashes[i] = calculateDnaHash(dnas.get(i)));
+
+        // 1. Agrupar por hash (primera aparición) y resolver desde la tabla y la caché en memoria
+        Map<DnaKey, Integer> firstIndexByHash = new LinkedHashMap<>();
+        Map<DnaKey, Boolean> verdicts = new LinkedHashMap<>();
+        long cacheHits = 0;
+        for (int i = 0; i < size; i++) {
+            if (firstIndexByHash.putIfAbsent(hashes[i], i) == null) {
+                Boolean cachedVerdict = lookupInMemory(hashes[i]);
+                if (cachedVerdict != null) {
+                    verdicts.put(hashes[i], cachedVerdict);
+                    cacheHits++;
+                }
+            }
+        }
+
+        // 2. Buscar los restantes en la base de datos con una sola consulta (solo los que el filtro no descarta)
+        List<DnaKey> unresolved = new ArrayList<>();
+        List<DnaKey> possiblyKnown = new ArrayList<>();
+        for (DnaKey hash : firstIndexByHash.keySet()) {
+            if (!verdicts.containsKey(hash)) {
+                unresolved.add(hash);
+                if (knownDnaFilter.mightContain(hash)) {
+                    possiblyKnown.add(hash);
+                }
+            }
+        }
+        if (!possiblyKnown.isEmpty()) {
+            verdictStore.findVerdicts(possiblyKnown).forEach((hash, isMutant) -> {
+                verdicts.put(hash, isMutant);
+                remember(hash, isMutant);
+            });
+        }
+
+        // 3. Analizar en paralelo los ADN nuevos
+        List<DnaKey> newHashes = new ArrayList<>();
+        for (DnaKey hash : unresolved) {
+            if (!verdicts.containsKey(hash)) {
+                newHashes.add(hash);
+            }
+        }
+        final boolean[] newVerdicts = new boolean[newHashes.size()];
+        IntStream.range(0, newHashes.size()).parallel().forEach(i ->
+                newVerdicts[i] = mutantDetector.isMutant(dnas.get(firstIndexByHash.get(newHashes.get(i)))));
+
+        // 4. Guardar los nuevos resultados con un único batch
+        List<DnaRecord> newRecords = new ArrayList<>(newHashes.size());
+        for (int i = 0; i < newHashes.size(); i++) {
+            DnaRecord newRecord = new DnaRecord();
+            newRecord.setDnaKey(newHashes.get(i));
+            newRecord.setMutant(newVerdicts[i]);
+            newRecords.add(newRecord);
+            verdicts.put(newHashes.get(i), newVerdicts[i]);
+        }
+        boolean[] inserted = verdictStore.insertAll(newRecords);
+        for (int i = 0; i < newRecords.size(); i++) {
+            if (inserted[i]) {
+                statsCounters.recordInsert(newVerdicts[i]);
+            }
+            knownDnaFilter.add(newHashes.get(i));
+            remember(newHashes.get(i), newVerdicts[i]);
+        }
+
+        boolean[] results = new boolean[size];
+        long mutantCount = 0;
+        for (int i = 0; i < size; i++) {
+            results[i] = verdicts.get(hashes[i]);
+            if (results[i]) {
+                mutantCount++;
+            }
+        }
+        statsWindow.record(size, mutantCount, cacheHits);
+        return results;
+    }
+
+    /**
+     * Busca un veredicto en los niveles en memoria. Un acierto de la caché se copia a la tabla, que
+     * pudo haberlo desalojado antes.
+     */
+    private Boolean lookupInMemory(DnaKey dnaHash) {
+        Boolean verdict = verdictTable.get(dnaHash);
+        if (verdict == null) {
+            verdict = verdictCache.get(dnaHash);
+            if (verdict != null) {
+                verdictTable.put(dnaHash, verdict);
+            }
+        }
+        return verdict;
+    }
+
+    /**
+     * Guarda un veredicto ya persistido (o encolado para persistir) en la tabla y en la caché.
+     */
+    private void remember(DnaKey dnaHash, boolean isMutant) {
+        verdictTable.put(dnaHash, isMutant);
+        verdictCache.put(dnaHash, isMutant);
+    }
+
+    /**
+     * Quita de la tabla y de la caché un veredicto que al final no se encoló.
+     */
+    private void forget(DnaKey dnaHash) {
+        verdictTable.remove(dnaHash);
+        verdictCache.evict(dnaHash);
+    }
+
+    /**
+     * Calcula el hash de una secuencia de ADN con el algoritmo configurado
+     * ({@code mutant.hash.algorithm}, SHA-256 por defecto).
      * El hash se utiliza como un identificador único y compacto para evitar
      * almacenar la secuencia completa y para realizar búsquedas rápidas.
      *
      * @param dna La secuencia de ADN.
-     * @return El hash SHA-256 en formato hexadecimal.
+     * @return El hash en binario (32 bytes para SHA-256).
      * @throws DnaHashCalculationException si el algoritmo SHA-256 no está disponible.
      */
-    private String calculateDnaHash(String[] dna) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            // Concatenar todas las filas para crear una cadena única
-            String dnaString = String.join("", dna);
-            byte[] hashBytes = digest.digest(dnaString.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hashBytes);
-        } catch (NoSuchAlgorithmException e) {
-            // Esta excepción es muy improbable en un entorno Java estándar.
-            throw new DnaHashCalculationException("Error al calcular el hash SHA-256 del ADN.", e);
-        }
+    DnaKey calculateDnaHash(String[] dna) {
+        final long start = System.nanoTime();
+        final DnaKey dnaKey = DnaHasher.hash(dna, hashAlgorithm);
+        metrics.recordHash(System.nanoTime() - start);
+        return dnaKey;
     }
 
     /**
-     * Convierte un array de bytes a su representación hexadecimal.
+     * Igual que {@link #calculateDnaHash(String[])} para una matriz empaquetada.
      */
-    private String bytesToHex(byte[] hash) {
-        StringBuilder hexString = new StringBuilder(2 * hash.length);
-        for (byte b : hash) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
+    DnaKey calculateDnaHash(PackedDnaMatrix dna) {
+        final long start = System.nanoTime();
+        final DnaKey dnaKey = DnaHasher.hash(dna, hashAlgorithm);
+        metrics.recordHash(System.nanoTime() - start);
+        return dnaKey;
     }
 }
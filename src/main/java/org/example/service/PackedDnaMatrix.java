@@ -0,0 +1,236 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+/**
+ * Matriz de ADN NxN compacta: cada base ocupa 2 bits (A=0, C=1, G=2, T=3) y cada fila
+ * se guarda en {@code ceil(N / 32)} palabras {@code long} consecutivas.
+ * La base de la columna {@code c} vive en los bits {@code 2 * (c % 32)} de la palabra {@code c / 32}.
+ * Los carriles sobrantes de la última palabra de cada fila quedan en cero.
+ */
+public final class PackedDnaMatrix {
+
+    /** Cantidad de bases que entran en una palabra de 64 bits. */
+    public static final int BASES_PER_WORD = 32;
+
+    private static final byte INVALID = -1;
+    private static final byte[] CODES = new byte[128];
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    static {
+        Arrays.fill(CODES, INVALID);
+        CODES['A'] = 0;
+        CODES['C'] = 1;
+        CODES['G'] = 2;
+        CODES['T'] = 3;
+    }
+
+    private final int size;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    private PackedDnaMatrix(int size) {
+        this(size, new long[size * wordsPerRow(size)]);
+    }
+
+    private PackedDnaMatrix(int size, long[] words) {
+        this.size = size;
+        this.wordsPerRow = wordsPerRow(size);
+        this.words = words;
+    }
+
+    private static int wordsPerRow(int size) {
+        return (size + BASES_PER_WORD - 1) / BASES_PER_WORD;
+    }
+
+    /**
+     * Empaqueta una matriz de ADN validando en la misma pasada que sea NxN,
+     * de al menos {@code minSize} filas y que solo contenga A, T, C, G.
+     *
+     * @param dna     La matriz de ADN como array de Strings.
+     * @param minSize Tamaño mínimo aceptado.
+     * @return La matriz empaquetada, o {@code null} si el ADN es inválido.
+     */
+    public static PackedDnaMatrix pack(String[] dna, int minSize) {
+        if (dna == null || dna.length < minSize) {
+            return null;
+        }
+
+        final int n = dna.length;
+        final PackedDnaMatrix matrix = new PackedDnaMatrix(n);
+        for (int row = 0; row < n; row++) {
+            final String line = dna[row];
+            if (line == null || line.length() != n) {
+                return null;
+            }
+            int base = row * matrix.wordsPerRow;
+            for (int col = 0; col < n; col += BASES_PER_WORD) {
+                final int end = Math.min(col + BASES_PER_WORD, n);
+                long word = 0L;
+                for (int c = col; c < end; c++) {
+                    final int code = codeOf(line.charAt(c));
+                    if (code < 0) {
+                        return null;
+                    }
+                    word |= (long) code << ((c - col) << 1);
+                }
+                matrix.words[base++] = word;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Empaqueta una fila leída desde un buffer de caracteres (sin crear un String) en la posición {@code base}.
+     *
+     * @return {@code false} si la fila contiene un carácter que no es A, T, C ni G.
+     */
+    private static boolean packRow(char[] chars, int offset, int length, long[] words, int base) {
+        for (int col = 0; col < length; col += BASES_PER_WORD) {
+            final int end = Math.min(col + BASES_PER_WORD, length);
+            long word = 0L;
+            for (int c = col; c < end; c++) {
+                final int code = codeOf(chars[offset + c]);
+                if (code < 0) {
+                    return false;
+                }
+                word |= (long) code << ((c - col) << 1);
+            }
+            words[base++] = word;
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve el código de 2 bits de una base, o {@code -1} si no es A, T, C ni G.
+     */
+    public static int codeOf(char base) {
+        return base < CODES.length ? CODES[base] : INVALID;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Devuelve la palabra {@code index} de la fila {@code row}.
+     */
+    public long word(int row, int index) {
+        return words[row * wordsPerRow + index];
+    }
+
+    /**
+     * Devuelve la palabra {@code index} de la fila {@code row} desplazada {@code shift} bases
+     * hacia la izquierda de la matriz, es decir, el carril {@code c} contiene la base {@code c + shift}.
+     * Solo admite desplazamientos entre 1 y 31.
+     */
+    public long shiftedWord(int row, int index, int shift) {
+        final int offset = row * wordsPerRow + index;
+        long word = words[offset] >>> (shift << 1);
+        if (index + 1 < wordsPerRow) {
+            word |= words[offset + 1] << (64 - (shift << 1));
+        }
+        return word;
+    }
+
+    /**
+     * Devuelve el código de 2 bits de la base en la posición indicada.
+     */
+    public int baseAt(int row, int col) {
+        return (int) (words[row * wordsPerRow + col / BASES_PER_WORD] >>> ((col % BASES_PER_WORD) << 1)) & 0b11;
+    }
+
+    /**
+     * Desempaqueta la fila {@code row} en {@code into} (de al menos N caracteres), palabra por palabra.
+     */
+    public void decodeRow(int row, char[] into) {
+        int offset = row * wordsPerRow;
+        for (int col = 0; col < size; col += BASES_PER_WORD) {
+            final int end = Math.min(col + BASES_PER_WORD, size);
+            long word = words[offset++];
+            for (int c = col; c < end; c++) {
+                into[c] = BASES[(int) word & 0b11];
+                word >>>= 2;
+            }
+        }
+    }
+
+    /**
+     * Desempaqueta la matriz en un {@code char[]} por fila, para los motores que recorren una matriz de
+     * caracteres. No crea Strings: es la misma copia que esos motores hacen de cada fila {@code String}.
+     */
+    public char[][] toCharRows() {
+        final char[][] rows = new char[size][size];
+        for (int row = 0; row < size; row++) {
+            decodeRow(row, rows[row]);
+        }
+        return rows;
+    }
+
+    /**
+     * Construye una matriz fila por fila a medida que se leen, por ejemplo desde un parser JSON.
+     * El tamaño N se fija con la primera fila; la memoria crece con las filas agregadas y no se
+     * reserva N x N de antemano, para no confiar en el largo declarado por una sola fila.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_ROWS = 16;
+
+        private final int size;
+        private final int wordsPerRow;
+        private long[] words;
+        private int rows;
+
+        /**
+         * @param size Largo de cada fila (N).
+         */
+        public Builder(int size) {
+            this.size = size;
+            this.wordsPerRow = wordsPerRow(size);
+            this.words = new long[Math.min(size, INITIAL_ROWS) * wordsPerRow];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        /**
+         * Valida y empaqueta la siguiente fila.
+         *
+         * @return {@code false} si la fila no mide N, si ya hay N filas o si contiene un carácter inválido.
+         */
+        public boolean appendRow(char[] chars, int offset, int length) {
+            if (length != size || rows == size) {
+                return false;
+            }
+            final int base = rows * wordsPerRow;
+            if (base + wordsPerRow > words.length) {
+                words = Arrays.copyOf(words, (int) Math.min((long) size * wordsPerRow, 2L * words.length));
+            }
+            if (!packRow(chars, offset, length, words, base)) {
+                return false;
+            }
+            rows++;
+            return true;
+        }
+
+        /**
+         * @return La matriz, o {@code null} si no se agregaron exactamente N filas.
+         */
+        public PackedDnaMatrix build() {
+            if (rows != size) {
+                return null;
+            }
+            final int length = size * wordsPerRow;
+            return new PackedDnaMatrix(size, words.length == length ? words : Arrays.copyOf(words, length));
+        }
+    }
+}
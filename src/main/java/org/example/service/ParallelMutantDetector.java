@@ -0,0 +1,183 @@
+package org.example.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Motor de detección paralelo para matrices grandes.
+ * <p>
+ * La matriz se divide en bandas de filas: cada banda cuenta las secuencias que <em>empiezan</em> en sus filas
+ * y lee hasta 3 filas por encima y por debajo (el halo) para las verticales y diagonales, por lo que cada
+ * secuencia se cuenta una sola vez. Las bandas se recorren en el {@link ForkJoinPool} común y comparten un
+ * contador global; cuando alcanza el mínimo para ser mutante, las demás bandas dejan de buscar.
+ */
+final class ParallelMutantDetector {
+
+    private static final int SEQUENCE_LENGTH = 4;
+    private static final int MIN_BAND_ROWS = 16;
+
+    private ParallelMutantDetector() {
+    }
+
+    /**
+     * @param dna          La matriz de ADN (de al menos 4 filas).
+     * @param minSequences Cantidad de secuencias a partir de la cual se corta la búsqueda.
+     * @return El veredicto ({@code true} si se encontraron al menos {@code minSequences} secuencias) y la
+     * suma de las celdas recorridas y leídas por todas las bandas, o {@code null} si la matriz es inválida.
+     */
+    static ScanResult scan(String[] dna, int minSequences) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final int n = dna.length;
+        final int bandRows = Math.max(MIN_BAND_ROWS, n / (pool.getParallelism() * 4));
+
+        // Fase 1: validar y copiar todas las filas en paralelo. Todas deben ser válidas
+        // antes de buscar, porque una banda lee las filas del halo de sus vecinas.
+        final char[][] matrix = new char[n][];
+        if (!pool.invoke(new LoadRowsTask(dna, matrix, 0, n, bandRows))) {
+            return null;
+        }
+
+        // Fase 2: buscar secuencias por bandas con corte temprano global.
+        return scan(matrix, minSequences);
+    }
+
+    /**
+     * Igual que {@link #scan(String[], int)} para una matriz de caracteres ya validada, por ejemplo la
+     * desempaquetada de una {@link PackedDnaMatrix}.
+     */
+    static ScanResult scan(char[][] matrix, int minSequences) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final int n = matrix.length;
+        final int bandRows = Math.max(MIN_BAND_ROWS, n / (pool.getParallelism() * 4));
+        final AtomicInteger sequenceCount = new AtomicInteger();
+        final LongAdder cellsScanned = new LongAdder();
+        final LongAdder cellsExamined = new LongAdder();
+        pool.invoke(new ScanBandTask(matrix, 0, n, bandRows, sequenceCount, minSequences, cellsScanned, cellsExamined));
+        return new ScanResult(sequenceCount.get() >= minSequences, cellsScanned.sum(), cellsExamined.sum());
+    }
+
+    /**
+     * Valida y copia las filas {@code [from, to)}.
+     */
+    private static final class LoadRowsTask extends RecursiveTask<Boolean> {
+        private final String[] dna;
+        private final char[][] matrix;
+        private final int from;
+        private final int to;
+        private final int bandRows;
+
+        LoadRowsTask(String[] dna, char[][] matrix, int from, int to, int bandRows) {
+            this.dna = dna;
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (to - from > bandRows) {
+                final int mid = (from + to) >>> 1;
+                LoadRowsTask upper = new LoadRowsTask(dna, matrix, from, mid, bandRows);
+                upper.fork();
+                boolean lowerValid = new LoadRowsTask(dna, matrix, mid, to, bandRows).compute();
+                return upper.join() && lowerValid;
+            }
+            for (int row = from; row < to; row++) {
+                matrix[row] = MutantDetector.toValidRow(dna[row], dna.length);
+                if (matrix[row] == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Cuenta las secuencias que empiezan en las filas {@code [from, to)}.
+     */
+    private static final class ScanBandTask extends RecursiveAction {
+        private final char[][] matrix;
+        private final int from;
+        private final int to;
+        private final int bandRows;
+        private final AtomicInteger sequenceCount;
+        private final int minSequences;
+        private final LongAdder cellsScanned;
+        private final LongAdder cellsExamined;
+        private long examined;
+
+        ScanBandTask(char[][] matrix, int from, int to, int bandRows, AtomicInteger sequenceCount, int minSequences,
+                     LongAdder cellsScanned, LongAdder cellsExamined) {
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+            this.bandRows = bandRows;
+            this.sequenceCount = sequenceCount;
+            this.minSequences = minSequences;
+            this.cellsScanned = cellsScanned;
+            this.cellsExamined = cellsExamined;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > bandRows) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new ScanBandTask(matrix, from, mid, bandRows, sequenceCount, minSequences, cellsScanned, cellsExamined),
+                        new ScanBandTask(matrix, mid, to, bandRows, sequenceCount, minSequences, cellsScanned, cellsExamined));
+                return;
+            }
+            // Cada banda suma sus celdas una sola vez, al terminar o al cortar.
+            cellsScanned.add(scanBand());
+            cellsExamined.add(examined);
+        }
+
+        /**
+         * @return Las celdas recorridas por la banda.
+         */
+        private long scanBand() {
+            final int n = matrix.length;
+            final int lastStart = n - SEQUENCE_LENGTH;
+            long cells = 0;
+            for (int row = from; row < to; row++) {
+                // Cancelación: otra banda ya completó el mínimo de secuencias.
+                if (sequenceCount.get() >= minSequences) {
+                    return cells;
+                }
+                for (int col = 0; col < n; col++) {
+                    cells++;
+                    int found = 0;
+                    final boolean fitsRight = col <= lastStart;
+                    if (fitsRight && sequenceAt(row, col, 0, 1)) {
+                        found++;
+                    }
+                    if (row <= lastStart && sequenceAt(row, col, 1, 0)) {
+                        found++;
+                    }
+                    if (row <= lastStart && fitsRight && sequenceAt(row, col, 1, 1)) {
+                        found++;
+                    }
+                    if (row >= SEQUENCE_LENGTH - 1 && fitsRight && sequenceAt(row, col, -1, 1)) {
+                        found++;
+                    }
+                    if (found > 0 && sequenceCount.addAndGet(found) >= minSequences) {
+                        return cells;
+                    }
+                }
+            }
+            return cells;
+        }
+
+        /**
+         * Igual que {@link MutantDetector#matchLength}, sumando las celdas leídas a las de la banda.
+         */
+        private boolean sequenceAt(int row, int col, int dRow, int dCol) {
+            final int match = MutantDetector.matchLength(matrix, row, col, dRow, dCol);
+            examined += MutantDetector.examinedCells(match);
+            return match == SEQUENCE_LENGTH;
+        }
+    }
+}
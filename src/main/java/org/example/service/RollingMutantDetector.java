@@ -0,0 +1,142 @@
+package org.example.service;
+
+import org.example.validation.DnaBases;
+
+/**
+ * Motor de detección por contadores de racha (programación dinámica).
+ * <p>
+ * Recorre la matriz una sola vez, por filas, y lee cada celda exactamente una vez. Para cada celda
+ * calcula el largo de la racha de letras iguales que termina en ella en cada dirección a partir de la
+ * racha que terminaba en la celda vecina ya leída: la de la izquierda en horizontal, la de arriba en
+ * vertical, la de arriba a la izquierda en la diagonal descendente y la de arriba a la derecha en la
+ * ascendente. Solo guarda la fila anterior y un contador por columna para cada dirección vertical u
+ * oblicua, así que usa O(N) de memoria extra además de la propia matriz.
+ * <p>
+ * Cada celda donde una racha alcanza o supera 4 letras cierra una secuencia de 4 distinta, así que se
+ * cuentan las mismas secuencias que en el motor escalar, que en una matriz humana lee cada celda hasta
+ * 16 veces (4 direcciones de hasta 4 celdas).
+ */
+final class RollingMutantDetector {
+
+    private static final int SEQUENCE_LENGTH = 4;
+
+    private RollingMutantDetector() {
+    }
+
+    /**
+     * @param dna          La matriz de ADN (de al menos 4 filas).
+     * @param minSequences Cantidad de secuencias a partir de la cual se corta la búsqueda.
+     * @return El veredicto ({@code true} si se encontraron al menos {@code minSequences} secuencias) y las
+     * celdas leídas, o {@code null} si la matriz es inválida.
+     */
+    static ScanResult scan(String[] dna, int minSequences) {
+        return scan(dna, null, dna.length, minSequences);
+    }
+
+    /**
+     * Igual que {@link #scan(String[], int)} para una matriz empaquetada, que ya es válida.
+     */
+    static ScanResult scan(PackedDnaMatrix dna, int minSequences) {
+        return scan(null, dna, dna.size(), minSequences);
+    }
+
+    /**
+     * Recorre las filas de {@code dna} o, si es {@code null}, las de {@code packed}, copiando cada una a un
+     * buffer reutilizado.
+     */
+    private static ScanResult scan(String[] dna, PackedDnaMatrix packed, int n, int minSequences) {
+        // Fila actual, copiada del String o desempaquetada.
+        final char[] current = new char[n];
+        // Fila anterior, que se reemplaza por la actual a medida que avanza la columna. El carácter 0 de
+        // la fila "-1" no coincide con ninguna base, así que la primera fila no necesita un caso aparte.
+        final char[] lastRow = new char[n];
+        // Largo de la racha que termina en cada columna de la fila anterior (luego, de la actual).
+        final int[] vertical = new int[n];
+        final int[] diagonalDown = new int[n];
+        final int[] diagonalUp = new int[n];
+        int sequenceCount = 0;
+        long cellsRead = 0;
+
+        for (int row = 0; row < n; row++) {
+            if (dna == null) {
+                packed.decodeRow(row, current);
+            } else if (dna[row] == null || dna[row].length() != n) {
+                return null;
+            } else {
+                dna[row].getChars(0, n, current, 0);
+            }
+            char left = 0;
+            int horizontal = 0;
+            // Valores de la fila anterior en la columna col - 1, que ya se reemplazaron.
+            char aboveLeft = 0;
+            int diagonalDownLeft = 0;
+
+            for (int col = 0; col < n; col++) {
+                final char base = current[col];
+                if (!DnaBases.isValidBase(base)) {
+                    return null;
+                }
+                cellsRead++;
+
+                final char above = lastRow[col];
+                // Horizontal (→)
+                horizontal = base == left ? horizontal + 1 : 1;
+                // Vertical (↓)
+                final int verticalRun = base == above ? vertical[col] + 1 : 1;
+                // Diagonal Descendente (↘): continúa la racha de arriba a la izquierda
+                final int diagonalDownRun = base == aboveLeft ? diagonalDownLeft + 1 : 1;
+                // Diagonal Ascendente (↗): continúa la racha de arriba a la derecha, que todavía es de la fila anterior
+                final int diagonalUpRun = col + 1 < n && base == lastRow[col + 1] ? diagonalUp[col + 1] + 1 : 1;
+
+                aboveLeft = above;
+                diagonalDownLeft = diagonalDown[col];
+                left = base;
+                lastRow[col] = base;
+                vertical[col] = verticalRun;
+                diagonalDown[col] = diagonalDownRun;
+                diagonalUp[col] = diagonalUpRun;
+
+                if (horizontal >= SEQUENCE_LENGTH) {
+                    sequenceCount++;
+                }
+                if (verticalRun >= SEQUENCE_LENGTH) {
+                    sequenceCount++;
+                }
+                if (diagonalDownRun >= SEQUENCE_LENGTH) {
+                    sequenceCount++;
+                }
+                if (diagonalUpRun >= SEQUENCE_LENGTH) {
+                    sequenceCount++;
+                }
+
+                // Early Termination: solo falta validar lo que no se leyó.
+                if (sequenceCount >= minSequences) {
+                    return dna == null || isValidFrom(dna, row, col + 1)
+                            ? new ScanResult(true, cellsRead, cellsRead)
+                            : null;
+                }
+            }
+        }
+
+        return new ScanResult(false, cellsRead, cellsRead);
+    }
+
+    /**
+     * Valida, sin buscar secuencias, el resto de la fila {@code row} desde {@code col} y las filas siguientes.
+     */
+    private static boolean isValidFrom(String[] dna, int row, int col) {
+        final int n = dna.length;
+        final String chars = dna[row];
+        for (int c = col; c < n; c++) {
+            if (!DnaBases.isValidBase(chars.charAt(c))) {
+                return false;
+            }
+        }
+        for (int r = row + 1; r < n; r++) {
+            if (dna[r] == null || dna[r].length() != n || !DnaBases.areValidBases(dna[r])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+/**
+ * Secuencias encontradas por {@link MutantDetector#reportPacked(PackedDnaMatrix, int)}, codificadas en un
+ * único {@code int[]} en lugar de un objeto por secuencia.
+ * <p>
+ * Cada secuencia ocupa {@value #INTS_PER_RUN} enteros: la fila de su primera base, y la columna de esa
+ * base en los bits altos del segundo, con la dirección ({@link RunDirection#ordinal()}) en los bits 2-3
+ * y el código de la base (A=0, C=1, G=2, T=3, como en {@link PackedDnaMatrix}) en los bits 0-1.
+ * Las secuencias se informan por su posición de inicio, igual que las cuenta el detector: una racha de
+ * 5 bases iguales son dos secuencias superpuestas.
+ */
+public final class RunReport {
+
+    public static final int INTS_PER_RUN = 2;
+
+    /** Cantidad máxima de secuencias que se pueden pedir en un reporte. */
+    public static final int MAX_RUNS = 10_000;
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    public enum RunDirection {
+        /** → */
+        HORIZONTAL,
+        /** ↓ */
+        VERTICAL,
+        /** ↘ */
+        DIAGONAL_DOWN,
+        /** ↗ */
+        DIAGONAL_UP
+    }
+
+    private static final RunDirection[] DIRECTIONS = RunDirection.values();
+
+    private final boolean mutant;
+    private final int[] descriptors;
+    private final int runCount;
+
+    private RunReport(boolean mutant, int[] descriptors, int runCount) {
+        this.mutant = mutant;
+        this.descriptors = descriptors;
+        this.runCount = runCount;
+    }
+
+    public boolean isMutant() {
+        return mutant;
+    }
+
+    public int runCount() {
+        return runCount;
+    }
+
+    public int row(int run) {
+        return descriptors[run * INTS_PER_RUN];
+    }
+
+    public int col(int run) {
+        return descriptors[run * INTS_PER_RUN + 1] >>> 4;
+    }
+
+    public RunDirection direction(int run) {
+        return DIRECTIONS[(descriptors[run * INTS_PER_RUN + 1] >>> 2) & 0b11];
+    }
+
+    public char base(int run) {
+        return BASES[descriptors[run * INTS_PER_RUN + 1] & 0b11];
+    }
+
+    /**
+     * @return Una copia de los descriptores, {@value #INTS_PER_RUN} enteros por secuencia.
+     */
+    public int[] descriptors() {
+        return Arrays.copyOf(descriptors, runCount * INTS_PER_RUN);
+    }
+
+    /**
+     * Acumula descriptores mientras un motor recorre la matriz. El array crece de a duplicaciones hasta
+     * {@code maxRuns} secuencias.
+     */
+    static final class Builder {
+
+        private static final int INITIAL_RUNS = 8;
+
+        private final int maxRuns;
+        private int[] descriptors;
+        private int runCount;
+
+        Builder(int maxRuns) {
+            this.maxRuns = maxRuns;
+            this.descriptors = new int[Math.min(maxRuns, INITIAL_RUNS) * INTS_PER_RUN];
+        }
+
+        /**
+         * @param base Código de 2 bits de la base.
+         * @return {@code true} si se llegó a {@code maxRuns} secuencias.
+         */
+        boolean add(int row, int col, RunDirection direction, int base) {
+            final int offset = runCount * INTS_PER_RUN;
+            if (offset == descriptors.length) {
+                descriptors = Arrays.copyOf(descriptors, Math.min(maxRuns, runCount * 2) * INTS_PER_RUN);
+            }
+            descriptors[offset] = row;
+            descriptors[offset + 1] = col << 4 | direction.ordinal() << 2 | base;
+            runCount++;
+            return runCount == maxRuns;
+        }
+
+        /**
+         * @param minSequences Cantidad de secuencias a partir de la cual el ADN es mutante.
+         */
+        RunReport build(int minSequences) {
+            return new RunReport(runCount >= minSequences, descriptors, runCount);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.service;
+
+/**
+ * Resultado de un motor de detección.
+ *
+ * @param mutant        {@code true} si se alcanzó el mínimo de secuencias.
+ * @param cellsScanned  Posiciones recorridas hasta el veredicto (N² si no hubo corte temprano; en
+ *                      {@link DetectionEngine#STRIDED}, las celdas de sondeo visitadas).
+ * @param cellsExamined Lecturas de celdas de la matriz hasta el veredicto, o {@link #NOT_COUNTED}. Permite
+ *                      comparar motores sobre la misma entrada: una celda leída desde varias posiciones
+ *                      cuenta varias veces.
+ */
+record ScanResult(boolean mutant, long cellsScanned, long cellsExamined) {
+
+    /**
+     * Valor de {@code cellsExamined} cuando el motor no contó las celdas leídas, para no pagar la cuenta.
+     */
+    static final long NOT_COUNTED = -1;
+
+    /**
+     * Para los motores que no leen las celdas de a una: las lecturas se igualan a las posiciones recorridas.
+     */
+    ScanResult(boolean mutant, long cellsScanned) {
+        this(mutant, cellsScanned, cellsScanned);
+    }
+}
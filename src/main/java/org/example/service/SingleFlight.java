@@ -0,0 +1,81 @@
+package org.example.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave en una sola ejecución ("single flight").
+ * <p>
+ * El primer hilo que llega con una clave ejecuta la operación; los que llegan mientras tanto
+ * esperan y reciben el mismo resultado (o la misma excepción). Al terminar, la clave se libera,
+ * por lo que una llamada posterior vuelve a ejecutar la operación.
+ *
+ * @param <K> Tipo de la clave.
+ * @param <V> Tipo del resultado.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    /**
+     * @param key    La clave que identifica la operación.
+     * @param loader La operación a ejecutar si no hay otra en curso con la misma clave.
+     * @return El resultado de la operación, propio o compartido.
+     */
+    V execute(K key, Supplier<V> loader) {
+        final CompletableFuture<V> call = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            waiters.incrementAndGet();
+            try {
+                return await(inFlight);
+            } finally {
+                waiters.decrementAndGet();
+            }
+        }
+
+        try {
+            final V result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * @return Cantidad de claves con una operación en curso.
+     */
+    int inFlight() {
+        return calls.size();
+    }
+
+    /**
+     * @return Cantidad de llamadas que ya se sumaron a una operación en curso y esperan su resultado.
+     */
+    int waiters() {
+        return waiters.get();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Se propaga la misma excepción que recibió el hilo que ejecutó la operación.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
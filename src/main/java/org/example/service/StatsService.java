@@ -2,27 +2,57 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.StatsResponse;
-import org.example.repository.DnaRecordRepository;
+import org.example.dto.StatsWindowResponse;
+import org.example.entity.DnaStats;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class StatsService {
 
-    private final DnaRecordRepository dnaRecordRepository;
+    private final DnaStatsCounters statsCounters;
+    private final DnaStatsWindow statsWindow;
+    private final DnaStatsTable statsTable;
 
     /**
      * Calcula las estadísticas de verificaciones de ADN.
-     * Cuenta el número de mutantes y humanos y calcula el ratio.
+     * Lee los totales de mutantes y humanos de los contadores en memoria (O(1),
+     * sin consultas a la base de datos) y calcula el ratio. Con {@code mutant.stats.table.enabled=true}
+     * los lee de la única fila de {@code dna_stats} (ver {@link DnaStatsTable}), compartida por todas
+     * las instancias; mientras esa fila no existe se usan los contadores en memoria.
      *
      * @return Un objeto {@link StatsResponse} con las estadísticas.
      */
-    @Transactional(readOnly = true)
     public StatsResponse getStats() {
-        long mutantCount = dnaRecordRepository.countByIsMutant(true);
-        long humanCount = dnaRecordRepository.countByIsMutant(false);
+        Optional<DnaStats> stored = statsTable.read();
+        long mutantCount = stored.map(DnaStats::getMutantCount).orElseGet(statsCounters::getMutantCount);
+        long humanCount = stored.map(DnaStats::getHumanCount).orElseGet(statsCounters::getHumanCount);
+
+        return new StatsResponse(mutantCount, humanCount, ratio(mutantCount, humanCount));
+    }
 
+    /**
+     * Calcula las estadísticas del último minuto, hora y día desde el buffer en memoria de
+     * {@link DnaStatsWindow}, sin consultas a la base de datos. A diferencia de {@link #getStats()},
+     * cuenta verificaciones (incluidas las repetidas y las resueltas por la caché), no ADNs distintos.
+     *
+     * @return Un objeto {@link StatsWindowResponse} con una entrada por ventana.
+     */
+    public StatsWindowResponse getWindowedStats() {
+        return new StatsWindowResponse(
+                window(statsWindow.totals(DnaStatsWindow.MINUTE)),
+                window(statsWindow.totals(DnaStatsWindow.HOUR)),
+                window(statsWindow.totals(DnaStatsWindow.DAY)));
+    }
+
+    private static StatsWindowResponse.Window window(DnaStatsWindow.Totals totals) {
+        return new StatsWindowResponse.Window(totals.requests(), totals.throughputPerSecond(),
+                totals.mutants(), totals.humans(), ratio(totals.mutants(), totals.humans()), totals.cacheHitRatio());
+    }
+
+    private static double ratio(long mutantCount, long humanCount) {
         double ratio = 0.0;
         if (humanCount > 0) {
             ratio = (double) mutantCount / humanCount;
@@ -30,7 +60,6 @@ public class StatsService {
             // Caso especial: si hay mutantes pero no humanos, el ratio es el número de mutantes.
             ratio = mutantCount;
         }
-
-        return new StatsResponse(mutantCount, humanCount, ratio);
+        return ratio;
     }
 }
@@ -0,0 +1,139 @@
+package org.example.service;
+
+/**
+ * Motor de detección por sondeo con paso 4.
+ * <p>
+ * Toda secuencia de 4 letras iguales cruza una columna {@code c % 4 == 3} si es horizontal, y una fila
+ * {@code r % 4 == 3} si es vertical u oblicua. El motor solo parte de esas celdas de sondeo: desde cada
+ * una extiende la racha de letras iguales hacia atrás y hacia adelante en cada dirección, en lugar de
+ * probar las cuatro direcciones desde todas las celdas. En una matriz humana la mayoría de las
+ * extensiones se cortan en la primera celda vecina, así que se lee alrededor de un tercio de las celdas
+ * que lee el motor escalar (ver la métrica {@code dna.detect.cells.examined}).
+ * <p>
+ * Una racha de largo L contiene L - 3 secuencias de 4 que empiezan en posiciones distintas, las mismas
+ * que cuenta el motor escalar. La racha se cuenta solo desde su primera celda de sondeo: si hacia atrás
+ * hay 4 letras iguales, la celda de sondeo anterior ya la contó.
+ */
+final class StridedMutantDetector {
+
+    private static final int SEQUENCE_LENGTH = 4;
+    private static final int PROBE = SEQUENCE_LENGTH - 1;
+
+    private StridedMutantDetector() {
+    }
+
+    /**
+     * @param dna          La matriz de ADN (de al menos 4 filas).
+     * @param minSequences Cantidad de secuencias a partir de la cual se corta la búsqueda.
+     * @return El veredicto ({@code true} si se encontraron al menos {@code minSequences} secuencias), las
+     * celdas de sondeo visitadas y las celdas leídas, o {@code null} si la matriz es inválida.
+     */
+    static ScanResult scan(String[] dna, int minSequences) {
+        final int n = dna.length;
+        // Las extensiones leen filas anteriores y posteriores, así que se valida todo antes de buscar.
+        final char[][] matrix = new char[n][];
+        for (int row = 0; row < n; row++) {
+            matrix[row] = MutantDetector.toValidRow(dna[row], n);
+            if (matrix[row] == null) {
+                return null;
+            }
+        }
+        return scan(matrix, minSequences);
+    }
+
+    /**
+     * Recorre las celdas de sondeo por filas.
+     */
+    static ScanResult scan(char[][] matrix, int minSequences) {
+        final int n = matrix.length;
+        final Counter counter = new Counter(matrix);
+        long probes = 0;
+
+        for (int row = 0; row < n; row++) {
+            final boolean probeRow = row % SEQUENCE_LENGTH == PROBE;
+            for (int col = probeRow ? 0 : PROBE; col < n; col += probeRow ? 1 : SEQUENCE_LENGTH) {
+                probes++;
+                counter.examined++;
+
+                // Horizontal (→): sondeo en las columnas 3, 7, 11...
+                if (col % SEQUENCE_LENGTH == PROBE) {
+                    counter.count(row, col, 0, 1);
+                }
+                // Vertical (↓) y oblicuas (↘, ↗): sondeo en las filas 3, 7, 11...
+                if (probeRow) {
+                    counter.count(row, col, 1, 0);
+                    counter.count(row, col, 1, 1);
+                    counter.count(row, col, -1, 1);
+                }
+
+                // Early Termination
+                if (counter.sequences >= minSequences) {
+                    return new ScanResult(true, probes, counter.examined);
+                }
+            }
+        }
+        return new ScanResult(false, probes, counter.examined);
+    }
+
+    /**
+     * Secuencias encontradas y celdas leídas durante un recorrido.
+     */
+    private static final class Counter {
+        private final char[][] matrix;
+        private final int n;
+        private int sequences;
+        private long examined;
+
+        Counter(char[][] matrix) {
+            this.matrix = matrix;
+            this.n = matrix.length;
+        }
+
+        /**
+         * Suma las secuencias de la racha que pasa por la celda de sondeo en la dirección indicada,
+         * salvo que empiece antes de la celda de sondeo anterior.
+         */
+        void count(int row, int col, int dRow, int dCol) {
+            final char base = matrix[row][col];
+
+            int before = 0;
+            int r = row - dRow;
+            int c = col - dCol;
+            while (before < SEQUENCE_LENGTH && inside(r, c)) {
+                examined++;
+                if (matrix[r][c] != base) {
+                    break;
+                }
+                before++;
+                r -= dRow;
+                c -= dCol;
+            }
+            if (before == SEQUENCE_LENGTH) {
+                // La celda de sondeo anterior está en la misma racha y ya la contó.
+                return;
+            }
+
+            int after = 0;
+            r = row + dRow;
+            c = col + dCol;
+            while (inside(r, c)) {
+                examined++;
+                if (matrix[r][c] != base) {
+                    break;
+                }
+                after++;
+                r += dRow;
+                c += dCol;
+            }
+
+            final int length = before + 1 + after;
+            if (length >= SEQUENCE_LENGTH) {
+                sequences += length - PROBE;
+            }
+        }
+
+        private boolean inside(int r, int c) {
+            return r >= 0 && r < n && c >= 0 && c < n;
+        }
+    }
+}
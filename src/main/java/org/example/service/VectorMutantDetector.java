@@ -0,0 +1,157 @@
+package org.example.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Motor de detección con la Vector API incubada ({@code jdk.incubator.vector}).
+ * <p>
+ * Cada fila se copia a un {@code byte[]} y se compara de a {@link #SPECIES} columnas por instrucción:
+ * la fila contra sí misma desplazada 1, 2 y 3 columnas (horizontal), contra las 3 filas siguientes
+ * (vertical) y contra las filas vecinas desplazadas (oblicuas). Cada carril de la máscara resultante
+ * indica si en esa columna empieza una secuencia, y se cuentan con {@link VectorMask#trueCount()}.
+ * Cuenta exactamente las mismas posiciones de inicio que el motor escalar.
+ * <p>
+ * Las filas se rellenan con ceros a la derecha para que las lecturas desplazadas no salgan del array;
+ * como ninguna base vale cero, el relleno nunca completa una secuencia. Solo se puede cargar esta clase
+ * si el módulo está en la JVM ({@code --add-modules jdk.incubator.vector}); {@link MutantDetector} lo
+ * comprueba antes de usarla.
+ */
+final class VectorMutantDetector {
+
+    private static final int SEQUENCE_LENGTH = 4;
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private VectorMutantDetector() {
+    }
+
+    /**
+     * @param dna          La matriz de ADN (de al menos 4 filas).
+     * @param minSequences Cantidad de secuencias a partir de la cual se corta la búsqueda.
+     * @return El veredicto ({@code true} si se encontraron al menos {@code minSequences} secuencias) y las
+     * celdas recorridas, contando todos los carriles de cada vector procesado, o {@code null} si la matriz
+     * es inválida.
+     */
+    static ScanResult scan(String[] dna, int minSequences) {
+        final byte[][] matrix = load(dna);
+        return matrix == null ? null : scan(matrix, minSequences);
+    }
+
+    /**
+     * Igual que {@link #scan(String[], int)} para una matriz empaquetada, que se desempaqueta de a una fila.
+     */
+    static ScanResult scan(PackedDnaMatrix dna, int minSequences) {
+        return scan(load(dna), minSequences);
+    }
+
+    private static ScanResult scan(byte[][] matrix, int minSequences) {
+        final int n = matrix.length;
+        final int lanes = SPECIES.length();
+        final int lastStart = n - SEQUENCE_LENGTH;
+        int sequenceCount = 0;
+
+        for (int row = 0; row < n; row++) {
+            final byte[] current = matrix[row];
+            final boolean canGoDown = row <= lastStart;
+            final boolean canGoUp = row >= SEQUENCE_LENGTH - 1;
+
+            for (int col = 0; col < n; col += lanes) {
+                // Carriles de columnas reales: los de la derecha de la última son relleno.
+                final VectorMask<Byte> inRange = SPECIES.indexInRange(col, n);
+                final ByteVector base = ByteVector.fromArray(SPECIES, current, col);
+
+                // Horizontal (→): la fila contra sí misma desplazada 1, 2 y 3 columnas
+                VectorMask<Byte> runs = equalTo(base, current, col + 1)
+                        .and(equalTo(base, current, col + 2))
+                        .and(equalTo(base, current, col + 3));
+                sequenceCount += runs.and(inRange).trueCount();
+
+                if (canGoDown) {
+                    // Vertical (↓): misma columna de las 3 filas siguientes
+                    runs = equalTo(base, matrix[row + 1], col)
+                            .and(equalTo(base, matrix[row + 2], col))
+                            .and(equalTo(base, matrix[row + 3], col));
+                    sequenceCount += runs.and(inRange).trueCount();
+
+                    // Diagonal Descendente (↘)
+                    runs = equalTo(base, matrix[row + 1], col + 1)
+                            .and(equalTo(base, matrix[row + 2], col + 2))
+                            .and(equalTo(base, matrix[row + 3], col + 3));
+                    sequenceCount += runs.and(inRange).trueCount();
+                }
+
+                if (canGoUp) {
+                    // Diagonal Ascendente (↗)
+                    runs = equalTo(base, matrix[row - 1], col + 1)
+                            .and(equalTo(base, matrix[row - 2], col + 2))
+                            .and(equalTo(base, matrix[row - 3], col + 3));
+                    sequenceCount += runs.and(inRange).trueCount();
+                }
+
+                // Early Termination
+                if (sequenceCount >= minSequences) {
+                    return new ScanResult(true, (long) row * n + Math.min(n, col + lanes));
+                }
+            }
+        }
+
+        return new ScanResult(false, (long) n * n);
+    }
+
+    /**
+     * Valida las filas y las copia a arrays de bytes con relleno para las lecturas desplazadas.
+     *
+     * @return La matriz, o {@code null} si alguna fila es inválida.
+     */
+    private static byte[][] load(String[] dna) {
+        final int n = dna.length;
+        final int width = paddedWidth(n);
+        final byte[][] matrix = new byte[n][];
+        for (int row = 0; row < n; row++) {
+            final char[] chars = MutantDetector.toValidRow(dna[row], n);
+            if (chars == null) {
+                return null;
+            }
+            final byte[] bytes = new byte[width];
+            for (int col = 0; col < n; col++) {
+                // Las bases válidas son ASCII, así que el byte bajo las identifica.
+                bytes[col] = (byte) chars[col];
+            }
+            matrix[row] = bytes;
+        }
+        return matrix;
+    }
+
+    /**
+     * Igual que {@link #load(String[])} para una matriz empaquetada, que ya es válida.
+     */
+    private static byte[][] load(PackedDnaMatrix dna) {
+        final int n = dna.size();
+        final int width = paddedWidth(n);
+        final char[] chars = new char[n];
+        final byte[][] matrix = new byte[n][];
+        for (int row = 0; row < n; row++) {
+            dna.decodeRow(row, chars);
+            final byte[] bytes = new byte[width];
+            for (int col = 0; col < n; col++) {
+                bytes[col] = (byte) chars[col];
+            }
+            matrix[row] = bytes;
+        }
+        return matrix;
+    }
+
+    /**
+     * Lectura más lejana: columna (n - 1) redondeada a un vector completo, desplazada 3.
+     */
+    private static int paddedWidth(int n) {
+        final int lanes = SPECIES.length();
+        return (n + lanes - 1) / lanes * lanes + SEQUENCE_LENGTH - 1;
+    }
+
+    private static VectorMask<Byte> equalTo(ByteVector base, byte[] row, int col) {
+        return base.compare(VectorOperators.EQ, ByteVector.fromArray(SPECIES, row, col));
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.validation;
+
+/**
+ * Reglas de bases de ADN compartidas por la validación y la detección.
+ * Comparan {@code char} primitivos, sin expresiones regulares ni colecciones con boxing.
+ */
+public final class DnaBases {
+
+    private DnaBases() {
+    }
+
+    /**
+     * @return {@code true} si el carácter es una de las bases válidas A, T, C o G.
+     */
+    public static boolean isValidBase(char base) {
+        return switch (base) {
+            case 'A', 'T', 'C', 'G' -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * @return {@code true} si todos los caracteres del array son bases válidas.
+     */
+    public static boolean areValidBases(char[] row) {
+        for (char base : row) {
+            if (!isValidBase(base)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code true} si todos los caracteres del String son bases válidas.
+     */
+    public static boolean areValidBases(String row) {
+        final int length = row.length();
+        for (int i = 0; i < length; i++) {
+            if (!isValidBase(row.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
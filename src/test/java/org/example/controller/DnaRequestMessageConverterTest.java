@@ -0,0 +1,88 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.DnaBatchRequest;
+import org.example.dto.DnaRequest;
+import org.example.exception.InvalidDnaException;
+import org.example.service.PackedDnaMatrix;
+import org.example.validation.ValidDnaSequenceValidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Pruebas Unitarias para DnaRequestMessageConverter")
+class DnaRequestMessageConverterTest {
+
+    private final DnaRequestMessageConverter converter = new DnaRequestMessageConverter(new ObjectMapper());
+
+    @Test
+    @DisplayName("Lee el ADN directamente a la matriz empaquetada")
+    void read_WhenDnaIsValid_ShouldPackMatrix() throws IOException {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        DnaRequest request = read("{\"other\": {\"x\": [1]}, \"dna\": [\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}");
+
+        assertNull(request.getDna());
+        PackedDnaMatrix expected = PackedDnaMatrix.pack(dna, 4);
+        PackedDnaMatrix packed = request.getPackedDna();
+        assertEquals(expected.size(), packed.size());
+        for (int row = 0; row < dna.length; row++) {
+            assertEquals(expected.word(row, 0), packed.word(row, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Informa los mismos mensajes, en el mismo orden, que la validación de DnaRequest")
+    void read_WhenDnaIsInvalid_ShouldReportValidatorMessages() {
+        assertInvalid("{}", DnaRequest.NULL_MESSAGE);
+        assertInvalid("{\"dna\": null}", DnaRequest.NULL_MESSAGE);
+        assertInvalid("{\"dna\": []}", DnaRequest.EMPTY_MESSAGE);
+        // El tamaño mínimo se informa antes que los errores de las filas.
+        assertInvalid("{\"dna\": [\"ATX\", \"G\", \"C\"]}", ValidDnaSequenceValidator.MIN_SIZE_MESSAGE);
+        assertInvalid("{\"dna\": [\"ATGCA\", \"CAGTA\", \"TTATA\", \"AGACA\"]}", ValidDnaSequenceValidator.NOT_SQUARE_MESSAGE);
+        assertInvalid("{\"dna\": [\"ATGC\", \"CAG\", \"TTXT\", \"AGAC\"]}", ValidDnaSequenceValidator.NOT_SQUARE_MESSAGE);
+        assertInvalid("{\"dna\": [\"ATGC\", null, \"TTAT\", \"AGAC\"]}", ValidDnaSequenceValidator.NOT_SQUARE_MESSAGE);
+        assertInvalid("{\"dna\": [\"ATGC\", \"CAGT\", \"TTXT\", \"AGA\"]}", ValidDnaSequenceValidator.INVALID_BASES_MESSAGE);
+        assertInvalid("{\"dna\": [\"ATGC\", \"CAGT\", \"TTAT\", 1234]}", ValidDnaSequenceValidator.INVALID_BASES_MESSAGE);
+    }
+
+    @Test
+    @DisplayName("El JSON mal formado o con otra estructura se rechaza como ilegible")
+    void read_WhenJsonIsMalformed_ShouldThrowNotReadable() {
+        assertThrows(HttpMessageNotReadableException.class, () -> read("{\"dna\": [\"ATGC\""));
+        assertThrows(HttpMessageNotReadableException.class, () -> read("{\"dna\": \"ATGC\"}"));
+        assertThrows(HttpMessageNotReadableException.class, () -> read("{\"dna\": [[\"A\"]]}"));
+        assertThrows(HttpMessageNotReadableException.class, () -> read("[\"ATGC\"]"));
+    }
+
+    @Test
+    @DisplayName("Solo lee DnaRequest en JSON y nunca se elige para escribir")
+    void canReadAndWrite_ShouldOnlyReadDnaRequestJson() {
+        assertTrue(converter.canRead(DnaRequest.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canRead(DnaRequest.class, MediaType.valueOf("application/vnd.dna+json")));
+        assertTrue(converter.canRead(DnaRequest.class, null));
+        assertFalse(converter.canRead(DnaRequest.class, MediaType.TEXT_PLAIN));
+        assertFalse(converter.canRead(DnaBatchRequest.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(DnaRequest.class, MediaType.APPLICATION_JSON));
+    }
+
+    private void assertInvalid(String body, String message) {
+        InvalidDnaException exception = assertThrows(InvalidDnaException.class, () -> read(body));
+        assertEquals("dna: " + message, exception.getDetails().get(0));
+    }
+
+    private DnaRequest read(String body) throws IOException {
+        return converter.read(DnaRequest.class, new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.DnaRequest;
+import org.example.repository.DnaRecordRepository;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:coalescing;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Pruebas de Integración para peticiones concurrentes con el mismo ADN")
+class MutantConcurrencyIntegrationTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DnaRecordRepository dnaRecordRepository;
+
+    @SpyBean
+    private MutantDetector mutantDetector;
+
+    private final String[] mutantDna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+    @Test
+    @DisplayName("POST /mutant - Miles de peticiones simultáneas con el mismo ADN escriben un solo registro y no fallan")
+    void checkMutant_WhenSameDnaIsSubmittedConcurrently_ShouldInsertOnce() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(new DnaRequest(mutantDna));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> statuses = new ArrayList<>(REQUESTS);
+
+        try {
+            // Act
+            for (int i = 0; i < REQUESTS; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/mutant")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+
+            // Assert
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, dnaRecordRepository.count());
+        verify(mutantDetector, times(1)).isMutantPacked(any());
+    }
+}
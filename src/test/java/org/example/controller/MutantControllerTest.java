@@ -1,26 +1,43 @@
 package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.DnaBatchRequest;
 import org.example.dto.DnaRequest;
 import org.example.dto.StatsResponse;
+import org.example.dto.StatsWindowResponse;
+import org.example.service.DetectionRule;
+import org.example.service.DetectionRules;
+import org.example.service.DnaStreamService;
+import org.example.service.MutantDetector;
 import org.example.service.MutantService;
 import org.example.service.StatsService;
+import org.example.validation.ValidDnaSequenceValidator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(MutantController.class)
+@WebMvcTest(controllers = MutantController.class, properties = "mutant.detector.tenant-rules=lab-a:5:2")
+@Import(DetectionRules.class)
 @DisplayName("Pruebas de Integración para MutantController")
 class MutantControllerTest {
 
@@ -36,6 +53,9 @@ class MutantControllerTest {
     @MockBean
     private StatsService statsService;
 
+    @MockBean
+    private DnaStreamService dnaStreamService;
+
     private final String[] mutantDna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
     private final String[] humanDna = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
 
@@ -43,7 +63,7 @@ class MutantControllerTest {
     @DisplayName("POST /mutant - Debe devolver 200 OK para ADN de mutante")
     void checkMutant_WhenDnaIsMutant_ShouldReturnOk() throws Exception {
         // Arrange
-        when(mutantService.analyzeDna(any())).thenReturn(true);
+        when(mutantService.analyzePackedDna(any())).thenReturn(true);
         DnaRequest request = new DnaRequest(mutantDna);
 
         // Act & Assert
@@ -57,7 +77,7 @@ class MutantControllerTest {
     @DisplayName("POST /mutant - Debe devolver 403 Forbidden para ADN de humano")
     void checkMutant_WhenDnaIsHuman_ShouldReturnForbidden() throws Exception {
         // Arrange
-        when(mutantService.analyzeDna(any())).thenReturn(false);
+        when(mutantService.analyzePackedDna(any())).thenReturn(false);
         DnaRequest request = new DnaRequest(humanDna);
 
         // Act & Assert
@@ -90,6 +110,198 @@ class MutantControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /mutant - Debe informar el mismo mensaje de validación para caracteres inválidos")
+    void checkMutant_WhenDnaHasInvalidBases_ShouldReturnValidationMessage() throws Exception {
+        DnaRequest request = new DnaRequest(new String[]{"ATGC", "CAGT", "TTXT", "AGAC"});
+
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("validation_failed"))
+                .andExpect(jsonPath("$.details[0]").value("dna: " + ValidDnaSequenceValidator.INVALID_BASES_MESSAGE));
+        verify(mutantService, never()).analyzePackedDna(any());
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Debe devolver 400 Bad Request para JSON mal formado")
+    void checkMutant_WhenJsonIsMalformed_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"ATGC\", "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("malformed_json"));
+    }
+
+    @Test
+    @DisplayName("POST /mutant?report=true - Debe devolver las secuencias encontradas junto con el veredicto")
+    void checkMutant_WhenReportIsRequested_ShouldReturnRuns() throws Exception {
+        // Arrange
+        when(mutantService.reportPackedDna(any(), eq(10))).thenReturn(new MutantDetector().report(mutantDna, 10));
+        DnaRequest request = new DnaRequest(mutantDna);
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                        .param("report", "true")
+                        .param("max_runs", "10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {"is_mutant":true,"runs":[
+                          {"row":0,"col":4,"direction":"VERTICAL","base":"G"},
+                          {"row":0,"col":0,"direction":"DIAGONAL_DOWN","base":"A"},
+                          {"row":4,"col":0,"direction":"HORIZONTAL","base":"C"}]}""", true));
+        verify(mutantService, never()).analyzePackedDna(any());
+    }
+
+    @Test
+    @DisplayName("POST /mutant?report=true - Debe devolver 400 Bad Request si max_runs está fuera de rango")
+    void checkMutant_WhenMaxRunsIsOutOfRange_ShouldReturnBadRequest() throws Exception {
+        DnaRequest request = new DnaRequest(mutantDna);
+
+        mockMvc.perform(post("/mutant")
+                        .param("report", "true")
+                        .param("max_runs", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("validation_failed"));
+        verify(mutantService, never()).reportPackedDna(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("POST /mutant?report=true - Debe devolver 400 Bad Request si max_runs no es un número")
+    void checkMutant_WhenMaxRunsIsNotANumber_ShouldReturnBadRequest() throws Exception {
+        DnaRequest request = new DnaRequest(mutantDna);
+
+        mockMvc.perform(post("/mutant")
+                        .param("report", "true")
+                        .param("max_runs", "abc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("validation_failed"))
+                .andExpect(jsonPath("$.details[0]").value("max_runs: El parámetro 'max_runs' no admite el valor 'abc' (se espera int)."));
+        verify(mutantService, never()).reportPackedDna(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Debe aplicar el criterio del tenant y los parámetros de la petición")
+    void checkMutant_WhenTenantAndParamsAreGiven_ShouldResolveRule() throws Exception {
+        // Arrange
+        when(mutantService.analyzePackedDna(any(), eq(new DetectionRule(5, 2)))).thenReturn(false);
+        when(mutantService.analyzePackedDna(any(), eq(new DetectionRule(5, 1)))).thenReturn(true);
+        String body = objectMapper.writeValueAsString(new DnaRequest(mutantDna));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                        .header("X-Tenant-Id", "lab-a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/mutant")
+                        .header("X-Tenant-Id", "lab-a")
+                        .param("min_sequences", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+        verify(mutantService, never()).analyzePackedDna(any());
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Debe usar el camino estándar si el criterio resuelto es el estándar")
+    void checkMutant_WhenRuleIsDefault_ShouldUseStandardPath() throws Exception {
+        // Arrange
+        when(mutantService.analyzePackedDna(any())).thenReturn(true);
+        DnaRequest request = new DnaRequest(mutantDna);
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                        .header("X-Tenant-Id", "otro")
+                        .param("run_length", "4")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        verify(mutantService, never()).analyzePackedDna(any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Debe devolver 400 Bad Request si run_length está fuera de rango o se pide reporte con otro criterio")
+    void checkMutant_WhenRuleParamsAreInvalid_ShouldReturnBadRequest() throws Exception {
+        String body = objectMapper.writeValueAsString(new DnaRequest(mutantDna));
+
+        mockMvc.perform(post("/mutant")
+                        .param("run_length", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("validation_failed"))
+                .andExpect(jsonPath("$.details[0]").value(startsWith("run_length: ")));
+        mockMvc.perform(post("/mutant")
+                        .param("report", "true")
+                        .param("run_length", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("validation_failed"));
+        verify(mutantService, never()).reportPackedDna(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Debe devolver 400 Bad Request si run_length o min_sequences no son números")
+    void checkMutant_WhenRuleParamsAreNotNumbers_ShouldReturnBadRequest() throws Exception {
+        String body = objectMapper.writeValueAsString(new DnaRequest(mutantDna));
+
+        mockMvc.perform(post("/mutant")
+                        .param("run_length", "abc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("validation_failed"))
+                .andExpect(jsonPath("$.details[0]").value("run_length: El parámetro 'run_length' no admite el valor 'abc' (se espera Integer)."));
+        mockMvc.perform(post("/mutant")
+                        .param("min_sequences", "x")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("validation_failed"))
+                .andExpect(jsonPath("$.details[0]").value("min_sequences: El parámetro 'min_sequences' no admite el valor 'x' (se espera Integer)."));
+        verify(mutantService, never()).analyzePackedDna(any());
+        verify(mutantService, never()).analyzePackedDna(any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /mutant/batch - Debe devolver 200 OK con el veredicto de cada ADN")
+    void checkMutantBatch_WhenDnasAreValid_ShouldReturnVerdicts() throws Exception {
+        // Arrange
+        when(mutantService.analyzeBatch(any())).thenReturn(new boolean[]{true, false});
+        DnaBatchRequest request = new DnaBatchRequest(List.of(new DnaRequest(mutantDna), new DnaRequest(humanDna)));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {"results":[{"index":0,"is_mutant":true},{"index":1,"is_mutant":false}],
+                         "count_mutant_dna":1,"count_human_dna":1}""", true));
+    }
+
+    @Test
+    @DisplayName("POST /mutant/batch - Debe devolver 400 Bad Request si algún ADN es inválido")
+    void checkMutantBatch_WhenAnyDnaIsInvalid_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        DnaBatchRequest request = new DnaBatchRequest(List.of(new DnaRequest(mutantDna), new DnaRequest(new String[]{"ATGC", "G", "C"})));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /stats - Debe devolver 200 OK y las estadísticas correctas")
     void getStats_ShouldReturnOkWithStats() throws Exception {
@@ -119,4 +331,20 @@ class MutantControllerTest {
                 .andExpect(jsonPath("$.count_human_dna").value(0))
                 .andExpect(jsonPath("$.ratio").value(0.0));
     }
+
+    @Test
+    @DisplayName("GET /stats/windows - Debe devolver 200 OK con las estadísticas de cada ventana")
+    void getWindowedStats_ShouldReturnOkWithWindows() throws Exception {
+        // Arrange
+        StatsWindowResponse.Window window = new StatsWindowResponse.Window(120L, 2.0, 40L, 80L, 0.5, 0.25);
+        when(statsService.getWindowedStats()).thenReturn(new StatsWindowResponse(window, window, window));
+
+        // Act & Assert
+        mockMvc.perform(get("/stats/windows"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.last_minute.requests").value(120))
+                .andExpect(jsonPath("$.last_hour.throughput_per_second").value(2.0))
+                .andExpect(jsonPath("$.last_day.ratio").value(0.5))
+                .andExpect(jsonPath("$.last_day.cache_hit_ratio").value(0.25));
+    }
 }
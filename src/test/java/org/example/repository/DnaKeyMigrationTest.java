@@ -0,0 +1,85 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas de Integración para DnaKeyMigration")
+class DnaKeyMigrationTest {
+
+    private static final String MUTANT_HASH = "3a5f2c9e8b1d4f7a6c3e9d2b8f5a1c7e4d9b2f6a8c3e5d1b7f4a9c2e6d8b3f5a";
+    private static final String HUMAN_HASH = "00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff";
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private void createLegacySchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE dna_records (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    dna_hash VARCHAR(64) NOT NULL UNIQUE,
+                    is_mutant BOOLEAN NOT NULL,
+                    created_at TIMESTAMP NOT NULL)""");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_dna_hash ON dna_records(dna_hash)");
+        jdbcTemplate.update("INSERT INTO dna_records (dna_hash, is_mutant, created_at) VALUES (?, TRUE, CURRENT_TIMESTAMP)", MUTANT_HASH);
+        jdbcTemplate.update("INSERT INTO dna_records (dna_hash, is_mutant, created_at) VALUES (?, FALSE, CURRENT_TIMESTAMP)", HUMAN_HASH);
+    }
+
+    @Test
+    @DisplayName("MIGRACIÓN: Convierte los hashes hexadecimales a dna_key y elimina dna_hash")
+    void migrate_WhenLegacySchema_ShouldConvertHexToBinary() {
+        // Arrange
+        createLegacySchema();
+
+        // Act
+        new DnaKeyMigration(dataSource).afterPropertiesSet();
+
+        // Assert
+        byte[] mutantKey = jdbcTemplate.queryForObject(
+                "SELECT dna_key FROM dna_records WHERE is_mutant = TRUE", byte[].class);
+        assertArrayEquals(DnaKey.fromHex(MUTANT_HASH).bytes(), mutantKey);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE COLUMN_NAME = 'DNA_HASH'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("MIGRACIÓN: El índice único queda sobre la clave binaria")
+    void migrate_WhenLegacySchema_ShouldEnforceUniqueBinaryKey() {
+        // Arrange
+        createLegacySchema();
+        new DnaKeyMigration(dataSource).afterPropertiesSet();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO dna_records (dna_key, is_mutant, created_at) VALUES (?, FALSE, CURRENT_TIMESTAMP)",
+                (Object) DnaKey.fromHex(HUMAN_HASH).bytes()));
+    }
+
+    @Test
+    @DisplayName("MIGRACIÓN: Sin columna dna_hash no modifica el esquema")
+    void migrate_WhenSchemaAlreadyBinary_ShouldDoNothing() {
+        // Arrange
+        jdbcTemplate.execute("CREATE TABLE dna_records (id BIGINT PRIMARY KEY, dna_key VARBINARY(32) NOT NULL)");
+
+        // Act
+        new DnaKeyMigration(dataSource).afterPropertiesSet();
+
+        // Assert
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'DNA_RECORDS'", Integer.class));
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+import org.example.entity.DnaStats;
+import org.example.service.DnaStatsTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dnastats;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "mutant.stats.table.enabled=true"
+})
+@DisplayName("Pruebas de Integración para la tabla dna_stats")
+class DnaStatsTableIntegrationTest {
+
+    @Autowired
+    private DnaRecordRepository dnaRecordRepository;
+
+    @Autowired
+    private DnaStatsRepository dnaStatsRepository;
+
+    @Autowired
+    private DnaStatsTable dnaStatsTable;
+
+    private byte nextKey;
+
+    @BeforeEach
+    void setUp() {
+        dnaRecordRepository.deleteAll();
+        dnaStatsTable.check();
+    }
+
+    @Test
+    @DisplayName("INSERT: save e insertAll incrementan la fila de totales en la misma transacción")
+    void save_AndInsertAll_ShouldIncrementSummaryRow() {
+        // Act
+        dnaRecordRepository.save(record(true));
+        dnaRecordRepository.insertAll(List.of(record(true), record(false), record(false)));
+
+        // Assert
+        DnaStats stats = dnaStatsRepository.findById(DnaStats.SUMMARY_ID).orElseThrow();
+        assertEquals(2, stats.getMutantCount());
+        assertEquals(2, stats.getHumanCount());
+        assertTrue(dnaStatsTable.check(), "Los totales incrementales deben coincidir con dna_records.");
+    }
+
+    @Test
+    @DisplayName("DUPLICADO: Un INSERT rechazado no incrementa los totales")
+    void save_WhenKeyIsDuplicated_ShouldNotIncrementSummaryRow() {
+        // Arrange
+        DnaRecord original = record(true);
+        dnaRecordRepository.save(original);
+        DnaRecord duplicate = new DnaRecord();
+        duplicate.setDnaKey(original.getDnaKey());
+        duplicate.setMutant(true);
+
+        // Act
+        assertThrows(DataIntegrityViolationException.class, () -> dnaRecordRepository.save(duplicate));
+        boolean[] inserted = dnaRecordRepository.insertAll(List.of(duplicate, record(false)));
+
+        // Assert
+        assertArrayEquals(new boolean[]{false, true}, inserted);
+        DnaStats stats = dnaStatsRepository.findById(DnaStats.SUMMARY_ID).orElseThrow();
+        assertEquals(1, stats.getMutantCount());
+        assertEquals(1, stats.getHumanCount());
+    }
+
+    @Test
+    @DisplayName("VERIFICACIÓN: Reconstruye la fila de totales si no coincide con dna_records")
+    void check_WhenSummaryRowDrifts_ShouldRebuildIt() {
+        // Arrange
+        dnaRecordRepository.insertAll(List.of(record(true), record(false)));
+        DnaStats stats = dnaStatsRepository.findById(DnaStats.SUMMARY_ID).orElseThrow();
+        stats.setMutantCount(99);
+        dnaStatsRepository.save(stats);
+
+        // Act
+        boolean consistent = dnaStatsTable.check();
+
+        // Assert
+        assertFalse(consistent);
+        DnaStats rebuilt = dnaStatsRepository.findById(DnaStats.SUMMARY_ID).orElseThrow();
+        assertEquals(1, rebuilt.getMutantCount());
+        assertEquals(1, rebuilt.getHumanCount());
+        assertTrue(dnaStatsTable.check());
+    }
+
+    private DnaRecord record(boolean mutant) {
+        byte[] key = new byte[32];
+        key[0] = ++nextKey;
+        DnaRecord record = new DnaRecord();
+        record.setDnaKey(new DnaKey(key));
+        record.setMutant(mutant);
+        return record;
+    }
+}
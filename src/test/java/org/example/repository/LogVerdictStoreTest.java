@@ -0,0 +1,211 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias para LogVerdictStore")
+class LogVerdictStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private LogVerdictStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private LogVerdictStore open() {
+        store = new LogVerdictStore(directory, 4, false);
+        return store;
+    }
+
+    private static DnaKey key(int seed) {
+        byte[] bytes = new byte[DnaKey.MAX_LENGTH];
+        new Random(seed).nextBytes(bytes);
+        return new DnaKey(bytes);
+    }
+
+    private static DnaRecord record(int seed, boolean mutant) {
+        DnaRecord record = new DnaRecord();
+        record.setDnaKey(key(seed));
+        record.setMutant(mutant);
+        return record;
+    }
+
+    private static List<DnaRecord> records(int count) {
+        List<DnaRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(record(i, i % 3 == 0));
+        }
+        return records;
+    }
+
+    private long logSize() throws IOException {
+        return Files.size(directory.resolve(LogVerdictStore.LOG_FILE));
+    }
+
+    @Test
+    @DisplayName("LOG: Inserta, encuentra el veredicto y rechaza la clave duplicada")
+    void insert_ShouldStoreVerdictAndRejectDuplicates() {
+        // Arrange
+        LogVerdictStore store = open();
+
+        // Act
+        boolean first = store.insert(record(1, true));
+        boolean second = store.insert(record(1, false));
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(Optional.of(true), store.findVerdict(key(1)));
+        assertEquals(Optional.empty(), store.findVerdict(key(2)));
+        assertEquals(1, store.count());
+        assertEquals(1, store.countByVerdict(true));
+        assertEquals(0, store.countByVerdict(false));
+    }
+
+    @Test
+    @DisplayName("LOG: Un lote inserta cada clave nueva una sola vez y el índice crece")
+    void insertAll_ShouldSkipDuplicatesAndGrowIndex() {
+        // Arrange
+        LogVerdictStore store = open();
+        store.insert(record(0, true));
+        List<DnaRecord> batch = records(1000);
+        batch.add(record(5, false));
+
+        // Act
+        boolean[] inserted = store.insertAll(batch);
+
+        // Assert
+        assertFalse(inserted[0]);
+        assertTrue(inserted[1]);
+        assertFalse(inserted[1000]);
+        assertEquals(1000, store.count());
+        assertEquals(334, store.countByVerdict(true));
+        Map<DnaKey, Boolean> verdicts = store.findVerdicts(List.of(key(3), key(4), key(5000)));
+        assertEquals(Map.of(key(3), true, key(4), false), verdicts);
+    }
+
+    @Test
+    @DisplayName("LOG: Al reabrir después de un cierre limpio conserva los veredictos")
+    void open_AfterCleanClose_ShouldReuseIndex() throws IOException {
+        // Arrange
+        open().insertAll(records(100));
+        store.close();
+
+        // Act
+        LogVerdictStore reopened = open();
+
+        // Assert
+        assertEquals(100, reopened.count());
+        assertEquals(34, reopened.countByVerdict(true));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Optional.of(i % 3 == 0), reopened.findVerdict(key(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("LOG: Después de una caída reconstruye el índice y descarta el registro incompleto")
+    void open_AfterCrash_ShouldReplayLogAndTruncateTornTail() throws IOException {
+        // Arrange: sin close(), el índice queda marcado como abierto
+        new LogVerdictStore(directory, 4, false).insertAll(records(50));
+        long validLength = logSize();
+        Files.write(directory.resolve(LogVerdictStore.LOG_FILE), new byte[]{32, 1, 7, 7, 7},
+                StandardOpenOption.APPEND);
+
+        // Act
+        LogVerdictStore recovered = open();
+
+        // Assert
+        assertEquals(50, recovered.count());
+        assertEquals(17, recovered.countByVerdict(true));
+        assertEquals(validLength, logSize());
+        assertTrue(recovered.insert(record(50, false)));
+    }
+
+    @Test
+    @DisplayName("LOG: Después de una caída descarta el último registro con CRC inválido y la cola de ceros")
+    void open_AfterCrash_ShouldTruncateCorruptLastRecordAndZeroTail() throws IOException {
+        // Arrange: el último registro queda completo pero con un byte de la clave cambiado
+        new LogVerdictStore(directory, 4, false).insertAll(records(50));
+        Path logFile = directory.resolve(LogVerdictStore.LOG_FILE);
+        byte[] bytes = Files.readAllBytes(logFile);
+        bytes[bytes.length - 5] ^= 1;
+        Files.write(logFile, bytes);
+        Files.write(logFile, new byte[4096], StandardOpenOption.APPEND);
+
+        // Act
+        LogVerdictStore recovered = open();
+
+        // Assert
+        assertEquals(49, recovered.count());
+        assertEquals(bytes.length - (DnaKey.MAX_LENGTH + 6), logSize());
+        assertEquals(Optional.empty(), recovered.findVerdict(key(49)));
+    }
+
+    @Test
+    @DisplayName("LOG: Un registro corrupto en medio del log impide abrir el almacén sin truncar el log")
+    void open_WhenLogIsCorruptInTheMiddle_ShouldFailWithoutTruncating() throws IOException {
+        // Arrange: se cambia un byte de la clave del registro 10 de 50
+        new LogVerdictStore(directory, 4, false).insertAll(records(50));
+        Path logFile = directory.resolve(LogVerdictStore.LOG_FILE);
+        byte[] bytes = Files.readAllBytes(logFile);
+        bytes[10 * (DnaKey.MAX_LENGTH + 6) + 2] ^= 1;
+        Files.write(logFile, bytes);
+
+        // Act
+        UncheckedIOException thrown = assertThrows(UncheckedIOException.class,
+                () -> new LogVerdictStore(directory, 4, false));
+
+        // Assert
+        assertTrue(thrown.getCause().getMessage().contains("posición " + 10 * (DnaKey.MAX_LENGTH + 6)));
+        assertEquals(bytes.length, logSize());
+    }
+
+    @Test
+    @DisplayName("LOG: La compactación reescribe el log sin registros duplicados")
+    void compact_WhenLogHasDuplicates_ShouldRewriteLog() throws IOException {
+        // Arrange: el log concatenado consigo mismo repite cada clave
+        open().insertAll(records(200));
+        store.close();
+        long compactLength = logSize();
+        Path logFile = directory.resolve(LogVerdictStore.LOG_FILE);
+        Files.write(logFile, Files.readAllBytes(logFile), StandardOpenOption.APPEND);
+        LogVerdictStore store = open();
+
+        // Act
+        boolean compacted = store.compact();
+
+        // Assert
+        assertTrue(compacted);
+        assertFalse(store.compact());
+        assertEquals(compactLength, logSize());
+        assertEquals(200, store.count());
+        Set<DnaKey> keys = new HashSet<>();
+        store.forEachDnaKey(keys::add);
+        assertEquals(200, keys.size());
+    }
+}
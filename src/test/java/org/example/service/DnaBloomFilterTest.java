@@ -0,0 +1,76 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias para DnaBloomFilter")
+class DnaBloomFilterTest {
+
+    private static DnaKey randomKey(SplittableRandom random) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return new DnaKey(bytes);
+    }
+
+    @Test
+    @DisplayName("BLOOM: Nunca da falsos negativos")
+    void mightContain_WhenKeyWasAdded_ShouldReturnTrue() {
+        // Arrange
+        DnaBloomFilter filter = DnaBloomFilter.create(10_000, 0.01, 1 << 20);
+        SplittableRandom random = new SplittableRandom(1L);
+        DnaKey[] keys = new DnaKey[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomKey(random);
+            filter.put(keys[i]);
+        }
+
+        // Act & Assert
+        for (DnaKey key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+        assertEquals(10_000, filter.insertions());
+    }
+
+    @Test
+    @DisplayName("BLOOM: La tasa de falsos positivos se mantiene cerca de la configurada")
+    void mightContain_WhenKeyIsUnknown_ShouldRespectFalsePositiveRate() {
+        // Arrange
+        DnaBloomFilter filter = DnaBloomFilter.create(10_000, 0.01, 1 << 20);
+        SplittableRandom random = new SplittableRandom(2L);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(randomKey(random));
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(randomKey(random))) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2_000, "Falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("BLOOM: Respeta el límite de memoria")
+    void create_WhenSizeExceedsBudget_ShouldCapMemory() {
+        DnaBloomFilter filter = DnaBloomFilter.create(1_000_000, 0.01, 1024);
+
+        assertEquals(1024, filter.memoryBytes());
+        assertTrue(filter.hashFunctions() >= 1);
+    }
+
+    @Test
+    @DisplayName("BLOOM: Rechaza tasas de falsos positivos fuera de rango")
+    void create_WhenFalsePositiveRateIsInvalid_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> DnaBloomFilter.create(1000, 0, 1024));
+        assertThrows(IllegalArgumentException.class, () -> DnaBloomFilter.create(1000, 1, 1024));
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@DisplayName("Pruebas Unitarias para DnaHasher")
+class DnaHasherTest {
+
+    private final String[] mutantDna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+    @Test
+    @DisplayName("SHA-256: Coincide con el hash de las filas unidas en UTF-8")
+    void hash_Sha256_ShouldMatchDigestOfJoinedRows() throws Exception {
+        byte[] expected = MessageDigest.getInstance("SHA-256")
+                .digest(String.join("", mutantDna).getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals(expected, DnaHasher.hash(mutantDna, DnaHashAlgorithm.SHA_256).bytes());
+    }
+
+    @Test
+    @DisplayName("SHA-256: Filas más grandes que el buffer interno producen el mismo hash")
+    void hash_Sha256_WhenRowsExceedBuffer_ShouldMatchDigestOfJoinedRows() throws Exception {
+        String row = "ACGT".repeat(2500);
+        String[] dna = {row, row, row};
+        byte[] expected = MessageDigest.getInstance("SHA-256")
+                .digest(String.join("", dna).getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals(expected, DnaHasher.hash(dna, DnaHashAlgorithm.SHA_256).bytes());
+    }
+
+    @Test
+    @DisplayName("MURMUR3: Coincide con el vector de referencia de MurmurHash3 x64 128")
+    void hash_Murmur3_ShouldMatchReferenceVector() {
+        assertEquals("029bbd41b3a7d8cb191dae486a901e5b", DnaHasher.hash(new String[]{"hel", "lo"}, DnaHashAlgorithm.MURMUR3_128).toHex());
+    }
+
+    @Test
+    @DisplayName("MURMUR3: Coincide con el vector de referencia cuando hay bloques completos y cola")
+    void hash_Murmur3_WithFullBlocks_ShouldMatchReferenceVector() {
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a",
+                DnaHasher.hash(new String[]{"The quick brown fox ", "jumps over the lazy dog"},
+                        DnaHashAlgorithm.MURMUR3_128).toHex());
+    }
+
+    @Test
+    @DisplayName("MURMUR3: El hash no depende de cómo se reparten los bytes entre filas")
+    void hash_Murmur3_WhenUpdatesAreUnaligned_ShouldMatchSingleRowHash() {
+        // La fila no ASCII fuerza escrituras directas desalineadas respecto al bloque de 16 bytes.
+        String tail = "GT".repeat(5000);
+        DnaKey split = DnaHasher.hash(new String[]{"AC", "ñ", tail}, DnaHashAlgorithm.MURMUR3_128);
+        DnaKey joined = DnaHasher.hash(new String[]{"ACñ" + tail}, DnaHashAlgorithm.MURMUR3_128);
+
+        assertEquals(joined, split);
+    }
+
+    @Test
+    @DisplayName("MURMUR3: Genera 16 bytes y distingue ADNs distintos")
+    void hash_Murmur3_ShouldBe128BitsAndDistinguishInputs() {
+        DnaKey mutantHash = DnaHasher.hash(mutantDna, DnaHashAlgorithm.MURMUR3_128);
+        DnaKey otherHash = DnaHasher.hash(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"},
+                DnaHashAlgorithm.MURMUR3_128);
+
+        assertEquals(16, mutantHash.length());
+        assertNotEquals(mutantHash, otherHash);
+    }
+
+    @Test
+    @DisplayName("PACKED: La matriz empaquetada produce el mismo hash que sus Strings")
+    void hash_Packed_ShouldMatchStringHash() {
+        // N = 100: varias palabras por fila y más bytes que el buffer interno.
+        String[] largeDna = new String[100];
+        for (int i = 0; i < largeDna.length; i++) {
+            largeDna[i] = "ACGT".repeat(25).substring(i % 4) + "ACGT".substring(0, i % 4);
+        }
+
+        for (String[] dna : new String[][]{mutantDna, largeDna}) {
+            PackedDnaMatrix packed = PackedDnaMatrix.pack(dna, 4);
+            for (DnaHashAlgorithm algorithm : DnaHashAlgorithm.values()) {
+                assertEquals(DnaHasher.hash(dna, algorithm), DnaHasher.hash(packed, algorithm));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("CONCURRENCIA: Más hilos que estados en el pool producen los mismos hashes")
+    void hash_WhenCalledConcurrently_ShouldMatchSequentialHashes() throws Exception {
+        // Arrange
+        final int threads = 64;
+        DnaHashAlgorithm[] algorithms = DnaHashAlgorithm.values();
+        String[][] inputs = new String[threads][];
+        DnaKey[][] expected = new DnaKey[threads][algorithms.length];
+        for (int t = 0; t < threads; t++) {
+            inputs[t] = new String[]{"ACGT".repeat(t + 1), "TGCA".repeat(3000), "A".repeat(t)};
+            for (int a = 0; a < algorithms.length; a++) {
+                expected[t][a] = DnaHasher.hash(inputs[t], algorithms[a]);
+            }
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // Act
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        for (int a = 0; a < algorithms.length; a++) {
+                            // Assert
+                            assertEquals(expected[thread][a], DnaHasher.hash(inputs[thread], algorithms[a]));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.entity.DnaKey;
+import org.example.entity.DnaRecord;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.JpaVerdictStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias para DnaRecordWriteBehind")
+class DnaRecordWriteBehindTest {
+
+    @Mock
+    private DnaRecordRepository dnaRecordRepository;
+    @Mock
+    private DnaStatsCounters statsCounters;
+    @Mock
+    private DnaVerdictTable verdictTable;
+    @Mock
+    private DnaVerdictCache verdictCache;
+
+    private DnaRecordWriteBehind writeBehind(boolean enabled, int capacity, int flushSize) {
+        return writeBehind(enabled, capacity, flushSize, 5000);
+    }
+
+    private DnaRecordWriteBehind writeBehind(boolean enabled, int capacity, int flushSize, long shutdownTimeoutMs) {
+        return new DnaRecordWriteBehind(new JpaVerdictStore(dnaRecordRepository), statsCounters, verdictTable, verdictCache,
+                new SimpleMeterRegistry(), enabled, capacity, flushSize, 50, shutdownTimeoutMs);
+    }
+
+    private static DnaRecord record(String hash, boolean isMutant) {
+        DnaRecord record = new DnaRecord();
+        record.setDnaKey(new DnaKey(hash.getBytes(StandardCharsets.UTF_8)));
+        record.setMutant(isMutant);
+        return record;
+    }
+
+    @Test
+    @DisplayName("WRITE-BEHIND: Al detenerse vacía la cola en lotes y actualiza los contadores")
+    void stop_ShouldDrainQueueInBatches() throws Exception {
+        // Arrange
+        List<Integer> batchSizes = new ArrayList<>();
+        when(dnaRecordRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<DnaRecord> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            boolean[] inserted = new boolean[batch.size()];
+            Arrays.fill(inserted, true);
+            return inserted;
+        });
+        DnaRecordWriteBehind writeBehind = writeBehind(true, 100, 4);
+        writeBehind.start();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(writeBehind.enqueue(record("hash-" + i, i % 2 == 0)));
+        }
+        writeBehind.stop();
+
+        // Assert
+        assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4), "Ningún lote debe superar flush-size.");
+        verify(statsCounters, times(5)).recordInsert(true);
+        verify(statsCounters, times(5)).recordInsert(false);
+    }
+
+    @Test
+    @DisplayName("WRITE-BEHIND: Si el escritor no termina a tiempo, la cola se guarda en el hilo que detiene")
+    void stop_WhenWriterTimesOut_ShouldDrainQueueOnCallerThread() throws Exception {
+        // Arrange: el primer lote queda bloqueado hasta después de stop()
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        List<DnaRecord> written = Collections.synchronizedList(new ArrayList<>());
+        when(dnaRecordRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                release.await();
+            }
+            List<DnaRecord> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            boolean[] inserted = new boolean[batch.size()];
+            Arrays.fill(inserted, true);
+            return inserted;
+        });
+        DnaRecordWriteBehind writeBehind = writeBehind(true, 100, 1, 100);
+        writeBehind.start();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(writeBehind.enqueue(record("hash-" + i, true)));
+        }
+
+        // Act
+        writeBehind.stop();
+
+        // Assert
+        assertFalse(writeBehind.enqueue(record("tarde", true)), "Después de stop() no se aceptan registros.");
+        assertEquals(2, written.size(), "Los registros en cola se guardan sin esperar al escritor bloqueado.");
+        release.countDown();
+        verify(dnaRecordRepository, timeout(5000).times(3)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("WRITE-BEHIND: Si un lote falla, sus veredictos se quitan de la tabla y de la caché")
+    void flush_WhenBatchFails_ShouldEvictCachedVerdicts() throws Exception {
+        // Arrange
+        when(dnaRecordRepository.insertAll(anyList())).thenThrow(new IllegalStateException("base caída"));
+        DnaRecordWriteBehind writeBehind = writeBehind(true, 100, 4);
+        writeBehind.start();
+        DnaRecord record = record("hash", true);
+
+        // Act
+        assertTrue(writeBehind.enqueue(record));
+        writeBehind.stop();
+
+        // Assert
+        verify(verdictTable).remove(record.getDnaKey());
+        verify(verdictCache).evict(record.getDnaKey());
+        verifyNoInteractions(statsCounters);
+    }
+
+    @Test
+    @DisplayName("WRITE-BEHIND: Las claves siguen pendientes hasta que termina el lote que las guarda")
+    void forEachPendingKey_ShouldListKeysUntilTheirBatchFinishes() throws Exception {
+        // Arrange: el lote queda bloqueado dentro del almacén
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dnaRecordRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return new boolean[]{true};
+        });
+        DnaRecordWriteBehind writeBehind = writeBehind(true, 100, 1);
+        writeBehind.start();
+        DnaRecord record = record("hash", true);
+        List<DnaKey> pending = new ArrayList<>();
+
+        // Act & Assert: encolada y luego en el lote en curso
+        assertTrue(writeBehind.enqueue(record));
+        writeBehind.forEachPendingKey(pending::add);
+        assertEquals(List.of(record.getDnaKey()), pending);
+
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        pending.clear();
+        writeBehind.forEachPendingKey(pending::add);
+        assertEquals(List.of(record.getDnaKey()), pending);
+
+        // Guardada: deja de estar pendiente
+        release.countDown();
+        writeBehind.stop();
+        pending.clear();
+        writeBehind.forEachPendingKey(pending::add);
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    @DisplayName("WRITE-BEHIND: Rechaza registros si el modo está desactivado")
+    void enqueue_WhenDisabled_ShouldReject() {
+        DnaRecordWriteBehind writeBehind = writeBehind(false, 100, 4);
+        writeBehind.start();
+
+        assertFalse(writeBehind.enqueue(record("hash", true)));
+        verifyNoInteractions(dnaRecordRepository);
+    }
+}
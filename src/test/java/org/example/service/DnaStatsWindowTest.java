@@ -0,0 +1,114 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias para DnaStatsWindow")
+class DnaStatsWindowTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 20_000;
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000L);
+    private final DnaStatsWindow window = new DnaStatsWindow(clock::get);
+
+    @Test
+    @DisplayName("VENTANA: Solo suma los segundos dentro de la ventana pedida")
+    void totals_ShouldOnlyIncludeSecondsInsideWindow() {
+        // Arrange
+        window.record(true, false);
+        clock.addAndGet(59);
+        window.record(false, true);
+        clock.addAndGet(1);
+        window.record(false, false);
+
+        // Act
+        DnaStatsWindow.Totals lastMinute = window.totals(DnaStatsWindow.MINUTE);
+        DnaStatsWindow.Totals lastHour = window.totals(DnaStatsWindow.HOUR);
+
+        // Assert
+        assertEquals(2, lastMinute.requests());
+        assertEquals(0, lastMinute.mutants());
+        assertEquals(0.5, lastMinute.cacheHitRatio(), 0.001);
+        assertEquals(3, lastHour.requests());
+        assertEquals(1, lastHour.mutants());
+        assertEquals(2, lastHour.humans());
+    }
+
+    @Test
+    @DisplayName("VENTANA: Una cubeta de hace un día se reinicia al reutilizarse")
+    void record_WhenBucketIsReusedAfterOneDay_ShouldResetIt() {
+        // Arrange
+        window.record(10, 10, 10);
+        clock.addAndGet(DnaStatsWindow.DAY);
+
+        // Act
+        window.record(1, 0, 0);
+
+        // Assert
+        DnaStatsWindow.Totals lastDay = window.totals(DnaStatsWindow.DAY);
+        assertEquals(1, lastDay.requests());
+        assertEquals(0, lastDay.mutants());
+        assertEquals(0, lastDay.cacheHits());
+    }
+
+    @Test
+    @DisplayName("VENTANA: Sin verificaciones, los totales y ratios son cero")
+    void totals_WhenEmpty_ShouldBeZero() {
+        DnaStatsWindow.Totals lastDay = window.totals(DnaStatsWindow.DAY);
+
+        assertEquals(0, lastDay.requests());
+        assertEquals(0.0, lastDay.throughputPerSecond());
+        assertEquals(0.0, lastDay.cacheHitRatio());
+        assertThrows(IllegalArgumentException.class, () -> window.totals(DnaStatsWindow.DAY + 1));
+    }
+
+    @Test
+    @DisplayName("CONCURRENCIA: No se pierden eventos mientras el reloj avanza y las cubetas rotan")
+    void record_WhenCalledConcurrently_ShouldNotLoseEvents() throws Exception {
+        // Arrange
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            // Act
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                        if (thread == 0 && i % 1000 == 0) {
+                            clock.incrementAndGet();
+                        }
+                        window.record(i % 2 == 0, i % 4 == 0);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        DnaStatsWindow.Totals lastHour = window.totals(DnaStatsWindow.HOUR);
+        assertEquals((long) THREADS * EVENTS_PER_THREAD, lastHour.requests());
+        assertEquals((long) THREADS * EVENTS_PER_THREAD / 2, lastHour.mutants());
+        assertEquals((long) THREADS * EVENTS_PER_THREAD / 4, lastHour.cacheHits());
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias para DnaStreamService")
+class DnaStreamServiceTest {
+
+    @Mock
+    private MutantService mutantService;
+
+    private DnaStreamService dnaStreamService;
+
+    @BeforeEach
+    void setUp() {
+        dnaStreamService = new DnaStreamService(mutantService, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private String process(String ndjson) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dnaStreamService.process(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("STREAM: Responde una línea con el veredicto por cada línea de entrada")
+    void process_WhenAllLinesAreValid_ShouldWriteOneVerdictPerLine() throws Exception {
+        // Arrange
+        when(mutantService.analyzeDna(any())).thenReturn(true, false);
+
+        // Act
+        String output = process("""
+                {"dna":["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]}
+                {"dna":["ATGCGA","CAGTGC","TTATTT","AGACGG","GCGTCA","TCACTG"]}
+                """);
+
+        // Assert
+        String[] lines = output.split("\\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"index\":0,\"is_mutant\":true}", lines[0]);
+        assertEquals("{\"index\":1,\"is_mutant\":false}", lines[1]);
+        verify(mutantService, times(2)).analyzeDna(any());
+    }
+
+    @Test
+    @DisplayName("STREAM: Un ADN inválido genera una línea de error y el stream continúa")
+    void process_WhenOneLineIsInvalid_ShouldReportErrorAndContinue() throws Exception {
+        // Arrange
+        when(mutantService.analyzeDna(any())).thenReturn(true);
+
+        // Act
+        String output = process("""
+                {"dna":["ATGC","G","C"]}
+                {"dna":["AAAA","CCCC","TTAT","AGAC"]}
+                """);
+
+        // Assert
+        String[] lines = output.split("\\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"error\":\"validation_failed\""), lines[0]);
+        assertEquals("{\"index\":1,\"is_mutant\":true}", lines[1]);
+        verify(mutantService, times(1)).analyzeDna(any());
+    }
+
+    @Test
+    @DisplayName("STREAM: Un JSON incompleto genera una línea de error sin analizar nada")
+    void process_WhenJsonIsIncomplete_ShouldReportError() throws Exception {
+        // Act
+        String output = process("{\"dna\":[\"AAAA\",\n");
+
+        // Assert
+        assertTrue(output.startsWith("{\"index\":0,\"error\":"), output);
+        verify(mutantService, never()).analyzeDna(any());
+    }
+
+    @Test
+    @DisplayName("STREAM: Una línea null genera una línea de error y el stream continúa")
+    void process_WhenOneLineIsNull_ShouldReportErrorAndContinue() throws Exception {
+        // Arrange
+        when(mutantService.analyzeDna(any())).thenReturn(true);
+
+        // Act
+        String output = process("""
+                null
+                {"dna":["AAAA","CCCC","TTAT","AGAC"]}
+                """);
+
+        // Assert
+        String[] lines = output.split("\\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"index\":0,\"error\":\"invalid_request\""), lines[0]);
+        assertEquals("{\"index\":1,\"is_mutant\":true}", lines[1]);
+        verify(mutantService, times(1)).analyzeDna(any());
+    }
+
+    @Test
+    @DisplayName("STREAM: Con flush-every en 0 hace flush en cada línea en lugar de fallar")
+    void process_WhenFlushEveryIsZero_ShouldStillProcess() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(dnaStreamService, "flushEvery", 0);
+        when(mutantService.analyzeDna(any())).thenReturn(false);
+
+        // Act
+        String output = process("""
+                {"dna":["ATGCGA","CAGTGC","TTATTT","AGACGG","GCGTCA","TCACTG"]}
+                """);
+
+        // Assert
+        assertEquals("{\"index\":0,\"is_mutant\":false}\n", output);
+    }
+}
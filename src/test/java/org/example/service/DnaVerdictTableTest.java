@@ -0,0 +1,115 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias para DnaVerdictTable")
+class DnaVerdictTableTest {
+
+    private static DnaKey randomKey(SplittableRandom random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return new DnaKey(bytes);
+    }
+
+    private static DnaVerdictTable table(long maxMemoryBytes) {
+        return new DnaVerdictTable(new SimpleMeterRegistry(), true, maxMemoryBytes);
+    }
+
+    @Test
+    @DisplayName("TABLA: Devuelve el veredicto guardado para claves SHA-256 y MURMUR3_128")
+    void get_WhenKeyWasPut_ShouldReturnVerdict() {
+        // Arrange
+        DnaVerdictTable table = table(1 << 20);
+        SplittableRandom random = new SplittableRandom(1L);
+        DnaKey sha = randomKey(random, 32);
+        DnaKey murmur = randomKey(random, 16);
+        table.put(sha, true);
+        table.put(murmur, false);
+
+        // Act & Assert
+        assertEquals(Boolean.TRUE, table.get(sha));
+        assertEquals(Boolean.FALSE, table.get(murmur));
+        assertNull(table.get(randomKey(random, 32)));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    @DisplayName("TABLA: Una clave repetida conserva la entrada existente")
+    void put_WhenKeyExists_ShouldKeepExistingEntry() {
+        // Arrange
+        DnaVerdictTable table = table(1 << 20);
+        DnaKey key = randomKey(new SplittableRandom(2L), 32);
+        table.put(key, true);
+
+        // Act
+        table.put(key, false);
+
+        // Assert
+        assertEquals(Boolean.TRUE, table.get(key));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    @DisplayName("TABLA: Un veredicto quitado deja de encontrarse y libera su ranura")
+    void remove_WhenKeyWasPut_ShouldForgetIt() {
+        // Arrange
+        DnaVerdictTable table = table(1 << 20);
+        SplittableRandom random = new SplittableRandom(3L);
+        DnaKey key = randomKey(random, 32);
+        DnaKey other = randomKey(random, 32);
+        table.put(key, true);
+        table.put(other, false);
+
+        // Act
+        table.remove(key);
+        table.remove(randomKey(random, 32));
+
+        // Assert
+        assertNull(table.get(key));
+        assertEquals(Boolean.FALSE, table.get(other));
+        assertEquals(1, table.size());
+        table.put(key, false);
+        assertEquals(Boolean.FALSE, table.get(key), "La clave quitada se puede volver a guardar.");
+    }
+
+    @Test
+    @DisplayName("TABLA: La memoria no pasa del máximo y al llenarse reemplaza entradas en lugar de crecer")
+    void put_WhenFull_ShouldStayWithinMemoryBound() {
+        // Arrange
+        DnaVerdictTable table = table(64 * 1024);
+        SplittableRandom random = new SplittableRandom(3L);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            table.put(randomKey(random, 32), i % 2 == 0);
+        }
+
+        // Assert
+        assertTrue(table.memoryBytes() <= 64 * 1024);
+        assertEquals(table.capacity() * DnaVerdictTable.ENTRY_BYTES, table.memoryBytes());
+        assertTrue(table.size() <= table.capacity());
+        assertTrue(table.size() > table.capacity() * 9 / 10, "Entradas: " + table.size());
+    }
+
+    @Test
+    @DisplayName("TABLA: Deshabilitada no guarda ni devuelve veredictos")
+    void get_WhenDisabled_ShouldReturnNull() {
+        // Arrange
+        DnaVerdictTable table = new DnaVerdictTable(new SimpleMeterRegistry(), false, 1 << 20);
+        DnaKey key = randomKey(new SplittableRandom(4L), 32);
+
+        // Act
+        table.put(key, true);
+
+        // Assert
+        assertNull(table.get(key));
+        assertEquals(0, table.capacity());
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.JpaVerdictStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HexFormat;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias para KnownDnaFilter")
+class KnownDnaFilterTest {
+
+    private static final DnaKey STORED = key("3a5f2c9e8b1d4f7a6c3e9d2b8f5a1c7e4d9b2f6a8c3e5d1b7f4a9c2e6d8b3f5a");
+    private static final DnaKey ADDED = key("00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff00ff");
+    private static final DnaKey UNKNOWN = key("0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+
+    @Mock
+    private DnaRecordRepository dnaRecordRepository;
+    @Mock
+    private DnaRecordWriteBehind writeBehind;
+
+    private static DnaKey key(String hex) {
+        return new DnaKey(HexFormat.of().parseHex(hex));
+    }
+
+    private KnownDnaFilter filter(boolean enabled) {
+        return new KnownDnaFilter(new JpaVerdictStore(dnaRecordRepository), writeBehind, enabled, 1000, 0.01, 1 << 16);
+    }
+
+    private void storedKeys(DnaKey... keys) {
+        doAnswer(invocation -> {
+            Consumer<DnaKey> consumer = invocation.getArgument(0);
+            for (DnaKey key : keys) {
+                consumer.accept(key);
+            }
+            return null;
+        }).when(dnaRecordRepository).forEachDnaKey(any());
+    }
+
+    @Test
+    @DisplayName("FILTRO: Antes de cargarse no descarta ninguna clave")
+    void mightContain_WhenNotLoaded_ShouldReturnTrue() {
+        KnownDnaFilter filter = filter(true);
+
+        assertTrue(filter.mightContain(UNKNOWN));
+        assertFalse(filter.snapshot().loaded());
+    }
+
+    @Test
+    @DisplayName("FILTRO: Después de cargarse descarta las claves desconocidas")
+    void mightContain_WhenLoaded_ShouldRejectUnknownKeys() {
+        // Arrange
+        storedKeys(STORED);
+        KnownDnaFilter filter = filter(true);
+
+        // Act
+        filter.load();
+
+        // Assert
+        assertTrue(filter.mightContain(STORED));
+        assertFalse(filter.mightContain(UNKNOWN));
+        assertEquals(1, filter.snapshot().skippedLookups());
+    }
+
+    @Test
+    @DisplayName("FILTRO: Las claves agregadas después de cargarse se reconocen")
+    void add_WhenLoaded_ShouldMarkKeyAsPossible() {
+        // Arrange
+        storedKeys();
+        KnownDnaFilter filter = filter(true);
+        filter.load();
+
+        // Act
+        filter.add(ADDED);
+
+        // Assert
+        assertTrue(filter.mightContain(ADDED));
+    }
+
+    @Test
+    @DisplayName("FILTRO: Las claves agregadas durante la reconstrucción quedan en el filtro nuevo")
+    void rebuild_WhenKeyIsAddedConcurrently_ShouldKeepIt() {
+        // Arrange
+        KnownDnaFilter filter = filter(true);
+        doAnswer(invocation -> {
+            Consumer<DnaKey> consumer = invocation.getArgument(0);
+            consumer.accept(STORED);
+            filter.add(ADDED);
+            return null;
+        }).when(dnaRecordRepository).forEachDnaKey(any());
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightContain(STORED));
+        assertTrue(filter.mightContain(ADDED));
+    }
+
+    @Test
+    @DisplayName("FILTRO: Una clave agregada antes de reconstruir que sigue en el write-behind queda en el filtro nuevo")
+    void rebuild_WhenAddedKeyIsStillQueued_ShouldKeepIt() {
+        // Arrange: el add termina antes de que empiece la reconstrucción y el registro todavía no se guardó
+        storedKeys(STORED);
+        KnownDnaFilter filter = filter(true);
+        filter.load();
+        filter.add(ADDED);
+        doAnswer(invocation -> {
+            Consumer<DnaKey> consumer = invocation.getArgument(0);
+            consumer.accept(ADDED);
+            return null;
+        }).when(writeBehind).forEachPendingKey(any());
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightContain(STORED));
+        assertTrue(filter.mightContain(ADDED));
+    }
+
+    @Test
+    @DisplayName("FILTRO: Deshabilitado no lee la base de datos ni descarta claves")
+    void load_WhenDisabled_ShouldNotReadRepository() {
+        KnownDnaFilter filter = filter(false);
+
+        filter.load();
+
+        assertTrue(filter.mightContain(UNKNOWN));
+        verify(dnaRecordRepository, never()).forEachDnaKey(any());
+    }
+}
@@ -1,15 +1,25 @@
 package org.example.service;
 
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @DisplayName("Pruebas Unitarias para MutantDetector")
 class MutantDetectorTest {
@@ -165,7 +175,316 @@ class MutantDetectorTest {
             new Object[]{new String[]{"ATGC", "CGAT", "GCTA", null}, "Una matriz con una fila nula debe devolver false."},
             new Object[]{new String[]{"ATGC", "CGBt", "ATGC", "CGAT"}, "Una matriz con caracteres inválidos (minúscula) debe devolver false."},
             new Object[]{new String[]{"ATGC", "CGBZ", "ATGC", "CGAT"}, "Una matriz con caracteres inválidos (Z) debe devolver false."},
-            new Object[]{new String[]{"AG", "TC"}, "Una matriz de 2x2 (menor que 4x4) debe devolver false."}
+            new Object[]{new String[]{"AG", "TC"}, "Una matriz de 2x2 (menor que 4x4) debe devolver false."},
+            new Object[]{new String[]{"AAAAA", "CCCCC", "TTATG", "AGACG", "AGACZ"}, "Un carácter inválido en una fila posterior al corte temprano debe devolver false."}
         );
     }
+
+    // --- Motores de detección alternativos (deben coincidir con el escalar) ---
+
+    @ParameterizedTest
+    @EnumSource(DetectionEngine.class)
+    @DisplayName("MOTORES: Todos los motores devuelven el mismo resultado que el escalar")
+    void isMutant_AllEngines_ShouldMatchScalarEngine(DetectionEngine engine) {
+        MutantDetector detector = new MutantDetector(engine);
+        Stream.concat(provideEngineCases(), provideInvalidDnaMatrices().map(args -> (String[]) args[0]))
+                .forEach(dna -> assertEquals(mutantDetector.isMutant(dna), detector.isMutant(dna),
+                        engine + " difiere del motor escalar para " + Arrays.toString(dna)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(DetectionEngine.class)
+    @DisplayName("MOTORES: La matriz empaquetada pasa por el motor configurado y da el mismo veredicto")
+    void isMutantPacked_AllEngines_ShouldUseConfiguredEngine(DetectionEngine engine) {
+        // Arrange
+        MutantDetector detector = new MutantDetector(engine, 4);
+        String[] human = withRuns(40, new int[][]{});
+        PackedDnaMatrix packed = PackedDnaMatrix.pack(human, 4);
+        SimpleMeterRegistry stringRegistry = new SimpleMeterRegistry();
+        SimpleMeterRegistry packedRegistry = new SimpleMeterRegistry();
+
+        // Act & Assert
+        assertArrayEquals(Arrays.stream(human).map(String::toCharArray).toArray(char[][]::new), packed.toCharRows());
+        provideEngineCases().forEach(dna -> assertEquals(mutantDetector.isMutant(dna),
+                detector.isMutantPacked(PackedDnaMatrix.pack(dna, 4)),
+                engine + " difiere del motor escalar para " + Arrays.toString(dna)));
+
+        // Cada motor lee una cantidad distinta de celdas: si coinciden, la matriz empaquetada usó el mismo motor.
+        assertFalse(new MutantDetector(engine, 4, new DnaMetrics(stringRegistry), true).isMutant(human));
+        assertFalse(new MutantDetector(engine, 4, new DnaMetrics(packedRegistry), true).isMutantPacked(packed));
+        assertEquals(stringRegistry.get("dna.detect.cells.examined").summary().totalAmount(),
+                packedRegistry.get("dna.detect.cells.examined").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("MOTORES: Con el motor por defecto la matriz empaquetada no se desempaqueta en Strings")
+    void isMutantPacked_DefaultEngine_ShouldNotBuildStrings() {
+        // Arrange
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported(), "La JVM no mide la memoria reservada por hilo");
+        ThreadMXBean allocations = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        int n = 512;
+        PackedDnaMatrix packed = PackedDnaMatrix.pack(withRuns(n, new int[][]{}), 4);
+        for (int i = 0; i < 3; i++) {
+            assertFalse(mutantDetector.isMutantPacked(packed));
+        }
+
+        // Act
+        long before = allocations.getCurrentThreadAllocatedBytes();
+        assertFalse(mutantDetector.isMutantPacked(packed));
+        long allocated = allocations.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert: la matriz de char ocupa 2 bytes por celda; las filas en String sumarían al menos 1 más.
+        assertEquals(DetectionEngine.SCALAR, mutantDetector.getEngine());
+        assertTrue(allocated < 2.5 * n * n, "Memoria reservada: " + allocated + " bytes");
+    }
+
+    @Test
+    @DisplayName("MOTORES: El motor paralelo sin umbral coincide con el escalar")
+    void isMutant_ParallelEngineWithoutThreshold_ShouldMatchScalarEngine() {
+        MutantDetector parallelDetector = new MutantDetector(DetectionEngine.PARALLEL, 4);
+        Stream.concat(provideEngineCases(), provideInvalidDnaMatrices().map(args -> (String[]) args[0]))
+                .forEach(dna -> assertEquals(mutantDetector.isMutant(dna), parallelDetector.isMutant(dna),
+                        "PARALLEL difiere del motor escalar para " + Arrays.toString(dna)));
+    }
+
+    @Test
+    @DisplayName("MOTORES: El motor VECTOR se reemplaza por el escalar si falta el módulo de la Vector API")
+    void vectorEngine_ShouldFallBackToScalarWhenModuleIsMissing() {
+        MutantDetector detector = new MutantDetector(DetectionEngine.VECTOR);
+        DetectionEngine expected = MutantDetector.VECTOR_API_AVAILABLE ? DetectionEngine.VECTOR : DetectionEngine.SCALAR;
+        assertEquals(expected, detector.getEngine());
+        assertTrue(detector.isMutant(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"}));
+    }
+
+    @Test
+    @DisplayName("MOTORES: El motor de matriz aplanada con el criterio estándar coincide con el escalar")
+    void flatEngine_WithDefaultRule_ShouldMatchScalarEngine() {
+        Stream.concat(provideEngineCases(), provideInvalidDnaMatrices().map(args -> (String[]) args[0]))
+                .forEach(dna -> {
+                    ScanResult result = FlatMutantDetector.scan(dna, DetectionRule.DEFAULT);
+                    assertEquals(mutantDetector.isMutant(dna), result != null && result.mutant(),
+                            "FLAT difiere del motor escalar para " + Arrays.toString(dna));
+                });
+    }
+
+    // --- Criterios de mutante configurables ---
+
+    @Test
+    @DisplayName("CRITERIO: El largo de secuencia y la cantidad necesaria cambian el veredicto")
+    void isMutant_WithCustomRule_ShouldApplyRunLengthAndThreshold() {
+        // 2 secuencias de 5 (filas 0 y 1) y 4 de 4 (dos por fila).
+        String[] dna = {"AAAAA", "CCCCC", "GTGTG", "TGTGT", "GTGTG"};
+        PackedDnaMatrix packed = PackedDnaMatrix.pack(dna, 4);
+
+        assertTrue(mutantDetector.isMutant(dna, new DetectionRule(5, 2)));
+        assertFalse(mutantDetector.isMutant(dna, new DetectionRule(5, 3)));
+        assertTrue(mutantDetector.isMutant(dna, new DetectionRule(4, 4)));
+        assertFalse(mutantDetector.isMutant(dna, new DetectionRule(4, 5)));
+        assertFalse(mutantDetector.isMutant(dna, new DetectionRule(6, 1)), "Ninguna secuencia de 6 entra en 5x5");
+        assertTrue(mutantDetector.isMutantPacked(packed, new DetectionRule(5, 2)));
+        assertFalse(mutantDetector.isMutantPacked(packed, new DetectionRule(5, 3)));
+        assertTrue(mutantDetector.isMutant(new String[]{"AAA", "CGT", "TGC"}, new DetectionRule(3, 1)),
+                "Con secuencias de 3 alcanza una matriz de 3x3");
+        assertFalse(mutantDetector.isMutant(new String[]{"AAAAA", "CGBZT", "AAAAA", "CCCCC", "GGGGG"}, new DetectionRule(5, 1)));
+    }
+
+    @Test
+    @DisplayName("CRITERIO: Un criterio fuera de rango se rechaza")
+    void detectionRule_OutOfRange_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new DetectionRule(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new DetectionRule(DetectionRule.MAX_RUN_LENGTH + 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new DetectionRule(4, 0));
+        assertTrue(new DetectionRule(4, 2).isDefault());
+    }
+
+    // --- Métricas ---
+
+    @ParameterizedTest
+    @EnumSource(DetectionEngine.class)
+    @DisplayName("MÉTRICAS: Registra la detección con su tamaño, veredicto y celdas recorridas antes del corte")
+    void isMutant_WithMetrics_ShouldRecordCellsScannedBeforeEarlyTermination(DetectionEngine engine) {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MutantDetector detector = new MutantDetector(engine, 4, new DnaMetrics(registry));
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        // Act
+        assertTrue(detector.isMutant(dna));
+
+        // Assert
+        assertEquals(1, registry.get("dna.detect").tag("size", "4-8").tag("verdict", "mutant").timer().count());
+        assertEquals(6.0, registry.get("dna.matrix.size").summary().totalAmount());
+        double cellsScanned = registry.get("dna.detect.cells.scanned").summary().totalAmount();
+        assertTrue(cellsScanned > 0 && cellsScanned < 36, "Celdas recorridas: " + cellsScanned);
+    }
+
+    @Test
+    @DisplayName("MÉTRICAS: Sin corte temprano se recorren las N² celdas y una matriz inválida no se registra")
+    void isMutant_WithMetrics_ShouldRecordFullScanAndSkipInvalid() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MutantDetector detector = new MutantDetector(DetectionEngine.SCALAR, 256, new DnaMetrics(registry));
+
+        // Act
+        assertFalse(detector.isMutant(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"}));
+        assertFalse(detector.isMutant(new String[]{"ATGC", "CGBZ", "ATGC", "CGAT"}));
+
+        // Assert
+        assertEquals(1, registry.get("dna.detect.cells.scanned").summary().count());
+        assertEquals(36.0, registry.get("dna.detect.cells.scanned").summary().totalAmount());
+        assertEquals(1, registry.get("dna.detect").tag("size", "4-8").tag("verdict", "human").timer().count());
+    }
+
+    @Test
+    @DisplayName("MÉTRICAS: El motor escalar solo cuenta las celdas leídas si se lo pide la configuración")
+    void isMutant_ScalarEngine_ShouldCountCellsExaminedOnlyWhenEnabled() {
+        // Arrange
+        String[] dna = withRuns(40, new int[][]{});
+        SimpleMeterRegistry defaultRegistry = new SimpleMeterRegistry();
+        SimpleMeterRegistry countingRegistry = new SimpleMeterRegistry();
+
+        // Act
+        assertFalse(new MutantDetector(DetectionEngine.SCALAR, 256, new DnaMetrics(defaultRegistry)).isMutant(dna));
+        assertFalse(new MutantDetector(DetectionEngine.SCALAR, 256, new DnaMetrics(countingRegistry), true).isMutant(dna));
+
+        // Assert
+        assertEquals(1, defaultRegistry.get("dna.detect.cells.scanned").summary().count());
+        assertEquals(0, defaultRegistry.get("dna.detect.cells.examined").summary().count());
+        assertEquals(1, countingRegistry.get("dna.detect.cells.examined").summary().count());
+        assertTrue(countingRegistry.get("dna.detect.cells.examined").summary().totalAmount() > 40 * 40);
+    }
+
+    @Test
+    @DisplayName("MÉTRICAS: El motor STRIDED lee menos celdas que el escalar para la misma matriz humana")
+    void isMutant_StridedEngine_ShouldExamineFewerCellsThanScalarEngine() {
+        // Arrange
+        String[] dna = withRuns(40, new int[][]{});
+        SimpleMeterRegistry scalarRegistry = new SimpleMeterRegistry();
+        SimpleMeterRegistry stridedRegistry = new SimpleMeterRegistry();
+
+        // Act
+        assertFalse(new MutantDetector(DetectionEngine.SCALAR, 256, new DnaMetrics(scalarRegistry), true).isMutant(dna));
+        assertFalse(new MutantDetector(DetectionEngine.STRIDED, 256, new DnaMetrics(stridedRegistry)).isMutant(dna));
+
+        // Assert
+        double scalarCells = scalarRegistry.get("dna.detect.cells.examined").summary().totalAmount();
+        double stridedCells = stridedRegistry.get("dna.detect.cells.examined").summary().totalAmount();
+        assertTrue(stridedCells > 0 && stridedCells < scalarCells / 2,
+                "Celdas leídas: escalar " + scalarCells + ", strided " + stridedCells);
+    }
+
+    @Test
+    @DisplayName("MÉTRICAS: El motor ROLLING lee cada celda una sola vez")
+    void isMutant_RollingEngine_ShouldReadEachCellOnce() {
+        // Arrange
+        String[] dna = withRuns(40, new int[][]{});
+        SimpleMeterRegistry scalarRegistry = new SimpleMeterRegistry();
+        SimpleMeterRegistry rollingRegistry = new SimpleMeterRegistry();
+
+        // Act
+        assertFalse(new MutantDetector(DetectionEngine.SCALAR, 256, new DnaMetrics(scalarRegistry), true).isMutant(dna));
+        assertFalse(new MutantDetector(DetectionEngine.ROLLING, 256, new DnaMetrics(rollingRegistry)).isMutant(dna));
+
+        // Assert
+        double scalarCells = scalarRegistry.get("dna.detect.cells.examined").summary().totalAmount();
+        double rollingCells = rollingRegistry.get("dna.detect.cells.examined").summary().totalAmount();
+        assertEquals(40.0 * 40, rollingCells);
+        assertTrue(rollingCells < scalarCells / 4, "Celdas leídas: escalar " + scalarCells + ", rolling " + rollingCells);
+    }
+
+    @Test
+    @DisplayName("REPORTE: Informa la posición de inicio, la dirección y la base de cada secuencia")
+    void report_ShouldDescribeEachRun() {
+        // Arrange
+        String[] dna = withRuns(40, new int[][]{{5, 31, 1, 0}, {20, 9, -1, 1}});
+
+        // Act
+        RunReport report = mutantDetector.report(dna, RunReport.MAX_RUNS);
+
+        // Assert
+        assertTrue(report.isMutant());
+        assertEquals(2, report.runCount());
+        assertEquals(5, report.row(0));
+        assertEquals(31, report.col(0));
+        assertEquals(RunReport.RunDirection.VERTICAL, report.direction(0));
+        assertEquals('A', report.base(0));
+        assertEquals(20, report.row(1));
+        assertEquals(9, report.col(1));
+        assertEquals(RunReport.RunDirection.DIAGONAL_UP, report.direction(1));
+        assertArrayEquals(new int[]{5, 31 << 4 | 1 << 2, 20, 9 << 4 | 3 << 2}, report.descriptors());
+    }
+
+    @Test
+    @DisplayName("REPORTE: Se corta al llegar a max_runs y coincide con el veredicto sin reporte")
+    void report_ShouldStopAtMaxRunsAndMatchVerdict() {
+        // Arrange
+        String[] dna = {
+                "AAAAAA",
+                "CCCCCC",
+                "TTTTTT",
+                "GGGGGG",
+                "AAAAAA",
+                "CCCCCC"
+        };
+        String[] human = withRuns(40, new int[][]{{7, 1, 0, 1}});
+
+        // Act
+        RunReport limited = mutantDetector.report(dna, 2);
+        RunReport full = mutantDetector.report(dna, RunReport.MAX_RUNS);
+        RunReport humanReport = mutantDetector.report(human, RunReport.MAX_RUNS);
+
+        // Assert
+        assertEquals(2, limited.runCount());
+        assertEquals(mutantDetector.isMutant(dna), limited.isMutant());
+        assertEquals(18, full.runCount(), "6 filas con 3 secuencias horizontales cada una");
+        assertFalse(humanReport.isMutant());
+        assertEquals(1, humanReport.runCount());
+        assertThrows(IllegalArgumentException.class, () -> mutantDetector.report(dna, 1));
+        assertNull(mutantDetector.report(new String[]{"ATGC", "G", "C"}, 2));
+    }
+
+    private static Stream<String[]> provideEngineCases() {
+        return Stream.of(
+            new String[]{"AAAA", "CCCC", "TTAT", "AGAC"},
+            new String[]{"ATGC", "ATGC", "ATGC", "ATGC"},
+            new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"},
+            new String[]{"GCGT", "GCGA", "GCAG", "GACG"},
+            new String[]{"AAAA", "CTGT", "TTAT", "AGAC"},
+            new String[]{"ATCG", "TCGA", "CGAT", "GATC"},
+            new String[]{"AAAT", "CCCG", "TTTA", "GGGC"},
+            // Secuencias que cruzan el límite de una palabra de 32 bases
+            withRuns(40, new int[][]{{0, 30, 0, 1}, {39, 29, 0, 1}}),
+            withRuns(40, new int[][]{{36, 30, -1, 1}}),
+            withRuns(40, new int[][]{{5, 31, 1, 0}, {10, 29, 1, 1}}),
+            withRuns(40, new int[][]{{5, 31, 1, 0}}),
+            // Una sola racha de 5 o más letras contiene varias secuencias (cruza una o dos celdas de sondeo)
+            withRuns(40, new int[][]{{7, 2, 0, 1}, {7, 3, 0, 1}}),
+            withRuns(40, new int[][]{{2, 9, 1, 0}, {3, 9, 1, 0}}),
+            withRuns(40, new int[][]{{1, 1, 1, 1}, {5, 5, 1, 1}}),
+            withRuns(40, new int[][]{{12, 20, -1, 1}, {8, 24, -1, 1}}),
+            withRuns(40, new int[][]{})
+        );
+    }
+
+    /**
+     * Construye una matriz NxN sin secuencias de 4 letras iguales y planta secuencias de 'A'
+     * en las posiciones indicadas como {fila, columna, deltaFila, deltaColumna}.
+     */
+    private static String[] withRuns(int n, int[][] runs) {
+        final String pattern = "ACGT";
+        char[][] matrix = new char[n][n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                matrix[row][col] = pattern.charAt((col + 2 * row) % pattern.length());
+            }
+        }
+        for (int[] run : runs) {
+            for (int i = 0; i < 4; i++) {
+                matrix[run[0] + i * run[2]][run[1] + i * run[3]] = 'A';
+            }
+        }
+        return Arrays.stream(matrix).map(String::new).toArray(String[]::new);
+    }
 }
@@ -1,20 +1,27 @@
 package org.example.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.entity.DnaRecord;
 import org.example.repository.DnaRecordRepository;
+import org.example.repository.JpaVerdictStore;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,18 +32,39 @@ class MutantServiceTest {
     private DnaRecordRepository dnaRecordRepository;
     @Mock
     private MutantDetector mutantDetector;
+    @Mock
+    private DnaVerdictCache verdictCache;
+    @Mock
+    private DnaStatsCounters statsCounters;
+    @Mock
+    private DnaRecordWriteBehind writeBehind;
+    @Mock
+    private KnownDnaFilter knownDnaFilter;
+    @Mock
+    private DnaMetrics metrics;
+    @Mock
+    private DnaStatsWindow statsWindow;
 
-    @InjectMocks
+    private DnaVerdictTable verdictTable;
     private MutantService mutantService;
 
     private final String[] mutantDna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
     private final String[] humanDna = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
 
+    @BeforeEach
+    void setUp() {
+        verdictTable = new DnaVerdictTable(new SimpleMeterRegistry(), true, 1 << 16);
+        mutantService = new MutantService(mutantDetector, new JpaVerdictStore(dnaRecordRepository), verdictTable,
+                verdictCache, statsCounters, writeBehind, knownDnaFilter, metrics, statsWindow, DnaHashAlgorithm.SHA_256);
+        // Por defecto el filtro no descarta ningún hash, como antes de cargarse.
+        lenient().when(knownDnaFilter.mightContain(any())).thenReturn(true);
+    }
+
     @Test
     @DisplayName("SERVICE: Analiza ADN mutante nuevo y lo guarda")
     void analyzeDna_WhenMutantAndNew_ShouldAnalyzeAndSave() {
         // Arrange
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.empty());
         when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
         ArgumentCaptor<DnaRecord> recordCaptor = ArgumentCaptor.forClass(DnaRecord.class);
 
@@ -45,21 +73,80 @@ class MutantServiceTest {
 
         // Assert
         assertTrue(result, "Debería devolver true para ADN mutante.");
-        verify(dnaRecordRepository, times(1)).findByDnaHash(anyString());
+        verify(dnaRecordRepository, times(1)).findByDnaKey(any());
         verify(mutantDetector, times(1)).isMutant(mutantDna);
         verify(dnaRecordRepository, times(1)).save(recordCaptor.capture());
 
+        verify(statsCounters, times(1)).recordInsert(true);
+        verify(statsWindow).record(true, false);
+
         DnaRecord savedRecord = recordCaptor.getValue();
         assertTrue(savedRecord.isMutant());
-        assertNotNull(savedRecord.getDnaHash());
-        assertEquals(64, savedRecord.getDnaHash().length());
+        assertNotNull(savedRecord.getDnaKey());
+        assertEquals(32, savedRecord.getDnaKey().length());
+    }
+
+    @Test
+    @DisplayName("SERVICE: Con MURMUR3_128 guarda claves de 16 bytes")
+    void analyzeDna_WhenMurmur3Configured_ShouldSave16ByteKey() {
+        // Arrange
+        MutantService murmurService = new MutantService(mutantDetector, new JpaVerdictStore(dnaRecordRepository),
+                verdictTable, verdictCache, statsCounters, writeBehind, knownDnaFilter, metrics, statsWindow,
+                DnaHashAlgorithm.MURMUR3_128);
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+        ArgumentCaptor<DnaRecord> recordCaptor = ArgumentCaptor.forClass(DnaRecord.class);
+
+        // Act
+        murmurService.analyzeDna(mutantDna);
+
+        // Assert
+        verify(dnaRecordRepository).save(recordCaptor.capture());
+        assertEquals(DnaHasher.hash(mutantDna, DnaHashAlgorithm.MURMUR3_128), recordCaptor.getValue().getDnaKey());
+        assertEquals(16, recordCaptor.getValue().getDnaKey().length());
+    }
+
+    @Test
+    @DisplayName("PACKED: Analiza la matriz empaquetada con la misma clave que sus Strings")
+    void analyzePackedDna_WhenNew_ShouldDetectPackedAndSaveSameKey() {
+        // Arrange
+        PackedDnaMatrix packed = PackedDnaMatrix.pack(mutantDna, 4);
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutantPacked(packed)).thenReturn(true);
+        ArgumentCaptor<DnaRecord> recordCaptor = ArgumentCaptor.forClass(DnaRecord.class);
+
+        // Act
+        boolean result = mutantService.analyzePackedDna(packed);
+
+        // Assert
+        assertTrue(result);
+        verify(mutantDetector, never()).isMutant(any());
+        verify(dnaRecordRepository, times(1)).save(recordCaptor.capture());
+        assertEquals(mutantService.calculateDnaHash(mutantDna), recordCaptor.getValue().getDnaKey());
+    }
+
+    @Test
+    @DisplayName("CRITERIO: Con otro criterio el ADN se analiza sin consultar ni guardar veredictos")
+    void analyzePackedDna_WithCustomRule_ShouldSkipStoreAndStats() {
+        // Arrange
+        PackedDnaMatrix packed = PackedDnaMatrix.pack(mutantDna, 4);
+        DetectionRule rule = new DetectionRule(5, 1);
+        when(mutantDetector.isMutantPacked(packed, rule)).thenReturn(false);
+
+        // Act
+        boolean result = mutantService.analyzePackedDna(packed, rule);
+
+        // Assert
+        assertFalse(result);
+        verifyNoInteractions(dnaRecordRepository, verdictCache, statsCounters, writeBehind, statsWindow);
+        assertEquals(0, verdictTable.size());
     }
 
     @Test
     @DisplayName("SERVICE: Analiza ADN humano nuevo y lo guarda")
     void analyzeDna_WhenHumanAndNew_ShouldAnalyzeAndSave() {
         // Arrange
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.empty());
         when(mutantDetector.isMutant(humanDna)).thenReturn(false);
         ArgumentCaptor<DnaRecord> recordCaptor = ArgumentCaptor.forClass(DnaRecord.class);
 
@@ -78,7 +165,7 @@ class MutantServiceTest {
         // Arrange
         DnaRecord cachedRecord = new DnaRecord();
         cachedRecord.setMutant(true);
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.of(cachedRecord));
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.of(cachedRecord));
 
         // Act
         boolean result = mutantService.analyzeDna(mutantDna);
@@ -95,7 +182,7 @@ class MutantServiceTest {
         // Arrange
         DnaRecord cachedRecord = new DnaRecord();
         cachedRecord.setMutant(false);
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.of(cachedRecord));
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.of(cachedRecord));
 
         // Act
         boolean result = mutantService.analyzeDna(humanDna);
@@ -105,4 +192,172 @@ class MutantServiceTest {
         verify(mutantDetector, never()).isMutant(any());
         verify(dnaRecordRepository, never()).save(any());
     }
+
+    @Test
+    @DisplayName("CACHE EN MEMORIA: Devuelve el veredicto cacheado sin consultar la base de datos")
+    void analyzeDna_WhenVerdictIsInMemoryCache_ShouldSkipRepository() {
+        // Arrange
+        when(verdictCache.get(any())).thenReturn(true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result, "Debería devolver el veredicto de la caché en memoria.");
+        verify(dnaRecordRepository, never()).findByDnaKey(any());
+        verify(mutantDetector, never()).isMutant(any());
+        verify(dnaRecordRepository, never()).save(any());
+        verify(statsWindow).record(true, true);
+    }
+
+    @Test
+    @DisplayName("TABLA DE VEREDICTOS: Un ADN ya resuelto se responde desde la tabla, antes que la caché")
+    void analyzeDna_WhenVerdictIsInTable_ShouldSkipCacheAndRepository() {
+        // Arrange
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+        mutantService.analyzeDna(mutantDna);
+        clearInvocations(dnaRecordRepository, mutantDetector, verdictCache);
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(1, verdictTable.size());
+        verify(verdictCache, never()).get(any());
+        verify(dnaRecordRepository, never()).findByDnaKey(any());
+        verify(mutantDetector, never()).isMutant(any());
+    }
+
+    @Test
+    @DisplayName("CACHE EN MEMORIA: Guarda en caché el veredicto encontrado en la base de datos")
+    void analyzeDna_WhenFoundInRepository_ShouldPopulateCache() {
+        // Arrange
+        DnaRecord storedRecord = new DnaRecord();
+        storedRecord.setMutant(false);
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.of(storedRecord));
+
+        // Act
+        mutantService.analyzeDna(humanDna);
+
+        // Assert
+        verify(verdictCache, times(1)).put(any(), eq(false));
+    }
+
+    @Test
+    @DisplayName("CONCURRENCIA: Si otra petición insertó el mismo ADN, devuelve el veredicto sin error")
+    void analyzeDna_WhenConcurrentInsertViolatesUniqueIndex_ShouldReturnVerdict() {
+        // Arrange
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+        when(dnaRecordRepository.save(any())).thenThrow(new DataIntegrityViolationException("idx_dna_key"));
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result, "Debería devolver el veredicto calculado aunque el registro ya exista.");
+        verify(verdictCache, times(1)).put(any(), eq(true));
+        verify(statsCounters, never()).recordInsert(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("WRITE-BEHIND: Encola el registro nuevo en lugar de guardarlo de forma síncrona")
+    void analyzeDna_WhenWriteBehindIsEnabled_ShouldEnqueueInsteadOfSave() {
+        // Arrange
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.enqueue(any())).thenReturn(true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result);
+        InOrder inOrder = inOrder(verdictCache, writeBehind);
+        inOrder.verify(verdictCache, times(1)).put(any(), eq(true));
+        inOrder.verify(writeBehind, times(1)).enqueue(any());
+        verify(dnaRecordRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("WRITE-BEHIND: Si la cola está llena, guarda de forma síncrona")
+    void analyzeDna_WhenWriteBehindQueueIsFull_ShouldSaveSynchronously() {
+        // Arrange
+        when(dnaRecordRepository.findByDnaKey(any())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(humanDna)).thenReturn(false);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.enqueue(any())).thenReturn(false);
+
+        // Act
+        mutantService.analyzeDna(humanDna);
+
+        // Assert
+        verify(dnaRecordRepository, times(1)).save(any());
+        verify(statsCounters, times(1)).recordInsert(false);
+        verify(verdictCache).evict(any());
+        assertEquals(Boolean.FALSE, verdictTable.get(mutantService.calculateDnaHash(humanDna)),
+                "Después del guardado síncrono el veredicto vuelve a la tabla.");
+    }
+
+    @Test
+    @DisplayName("LOTE: Busca con una sola consulta, analiza los nuevos una vez e inserta en batch")
+    void analyzeBatch_WhenMixedKnownAndNew_ShouldQueryOnceAndInsertNewOnes() {
+        // Arrange
+        DnaRecord knownRecord = new DnaRecord();
+        knownRecord.setDnaKey(mutantService.calculateDnaHash(humanDna));
+        knownRecord.setMutant(false);
+        when(dnaRecordRepository.findByDnaKeyIn(any())).thenReturn(List.of(knownRecord));
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+        when(dnaRecordRepository.insertAll(any())).thenReturn(new boolean[]{true});
+
+        // Act
+        boolean[] results = mutantService.analyzeBatch(List.of(mutantDna, humanDna, mutantDna));
+
+        // Assert
+        assertArrayEquals(new boolean[]{true, false, true}, results);
+        verify(dnaRecordRepository, times(1)).findByDnaKeyIn(any());
+        verify(mutantDetector, times(1)).isMutant(mutantDna);
+        verify(mutantDetector, never()).isMutant(humanDna);
+        verify(dnaRecordRepository, times(1)).insertAll(argThat(records -> records.size() == 1));
+        verify(statsCounters, times(1)).recordInsert(true);
+        verify(dnaRecordRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("FILTRO: Si el filtro descarta el hash, no consulta la base de datos y registra la inserción")
+    void analyzeDna_WhenFilterRejectsHash_ShouldSkipLookup() {
+        // Arrange
+        when(knownDnaFilter.mightContain(any())).thenReturn(false);
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result);
+        verify(dnaRecordRepository, never()).findByDnaKey(any());
+        verify(dnaRecordRepository, times(1)).save(any());
+        verify(knownDnaFilter, times(1)).add(mutantService.calculateDnaHash(mutantDna));
+    }
+
+    @Test
+    @DisplayName("FILTRO: En un lote, los hashes descartados no se incluyen en la consulta IN")
+    void analyzeBatch_WhenFilterRejectsAllHashes_ShouldSkipQuery() {
+        // Arrange
+        when(knownDnaFilter.mightContain(any())).thenReturn(false);
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+        when(mutantDetector.isMutant(humanDna)).thenReturn(false);
+        when(dnaRecordRepository.insertAll(any())).thenReturn(new boolean[]{true, true});
+
+        // Act
+        boolean[] results = mutantService.analyzeBatch(List.of(mutantDna, humanDna));
+
+        // Assert
+        assertArrayEquals(new boolean[]{true, false}, results);
+        verify(dnaRecordRepository, never()).findByDnaKeyIn(any());
+        verify(knownDnaFilter, times(2)).add(any());
+    }
 }
@@ -0,0 +1,83 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias para SingleFlight")
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    @DisplayName("SINGLE FLIGHT: Las llamadas concurrentes con la misma clave comparten una ejecución")
+    void execute_WhenCalledConcurrently_ShouldRunLoaderOnce() throws Exception {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        try {
+            // Act
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("dna", () -> {
+                    executions.incrementAndGet();
+                    awaitQuietly(release);
+                    return 42;
+                })));
+            }
+            // Se libera la primera llamada recién cuando todas las demás se sumaron a ella.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight.waiters() < CALLERS - 1) {
+                assertTrue(System.nanoTime() < deadline, "Las llamadas no se sumaron a la operación en curso");
+                Thread.onSpinWait();
+            }
+            assertEquals(1, singleFlight.inFlight());
+            release.countDown();
+
+            // Assert
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals(0, singleFlight.waiters());
+    }
+
+    @Test
+    @DisplayName("SINGLE FLIGHT: La excepción de la operación se propaga y la clave se libera")
+    void execute_WhenLoaderFails_ShouldPropagateAndRelease() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("dna", () -> {
+            throw new IllegalStateException("falla");
+        }));
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals(7, singleFlight.execute("dna", () -> 7));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
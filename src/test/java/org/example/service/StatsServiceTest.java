@@ -1,15 +1,26 @@
 package org.example.service;
 
 import org.example.dto.StatsResponse;
+import org.example.dto.StatsWindowResponse;
+import org.example.entity.DnaStats;
 import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaStatsRepository;
+import org.example.repository.JpaVerdictStore;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -18,9 +29,21 @@ class StatsServiceTest {
 
     @Mock
     private DnaRecordRepository dnaRecordRepository;
+    @Mock
+    private DnaStatsRepository dnaStatsRepository;
 
-    @InjectMocks
+    private DnaStatsCounters statsCounters;
+    private DnaStatsWindow statsWindow;
     private StatsService statsService;
+    private long now = 1_700_000_000L;
+
+    @BeforeEach
+    void setUp() {
+        DnaStatsTable statsTable = new DnaStatsTable(dnaStatsRepository, dnaRecordRepository, null, false);
+        statsCounters = new DnaStatsCounters(new JpaVerdictStore(dnaRecordRepository), statsTable);
+        statsWindow = new DnaStatsWindow(() -> now);
+        statsService = new StatsService(statsCounters, statsWindow, statsTable);
+    }
 
     @Test
     @DisplayName("STATS: Debe calcular estadísticas correctamente con datos")
@@ -28,6 +51,7 @@ class StatsServiceTest {
         // Arrange
         when(dnaRecordRepository.countByIsMutant(true)).thenReturn(40L);
         when(dnaRecordRepository.countByIsMutant(false)).thenReturn(100L);
+        statsCounters.reconcile();
 
         // Act
         StatsResponse stats = statsService.getStats();
@@ -38,12 +62,69 @@ class StatsServiceTest {
         assertEquals(0.4, stats.getRatio(), 0.001);
     }
 
+    @Test
+    @DisplayName("STATS: La reconciliación descuenta las inserciones ya contadas y conserva las posteriores")
+    void reconcile_ShouldNotCountInsertsTwice() {
+        // Arrange: 3 inserciones registradas que el conteo del almacén ya incluye
+        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(40L);
+        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(100L);
+        statsCounters.recordInsert(true);
+        statsCounters.recordInsert(true);
+        statsCounters.recordInsert(false);
+
+        // Act
+        statsCounters.reconcile();
+        statsCounters.recordInsert(true);
+
+        // Assert
+        assertEquals(41, statsCounters.getMutantCount());
+        assertEquals(100, statsCounters.getHumanCount());
+    }
+
+    @Test
+    @DisplayName("STATS: Una inserción registrada mientras se cuenta no se pierde")
+    void reconcile_WhenInsertIsRecordedDuringCount_ShouldNotLoseIt() {
+        // Arrange: la inserción se confirma después del conteo (40) pero se registra antes de que termine
+        when(dnaRecordRepository.countByIsMutant(true)).thenAnswer(invocation -> {
+            statsCounters.recordInsert(true);
+            return 40L;
+        });
+        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(100L);
+
+        // Act
+        statsCounters.reconcile();
+
+        // Assert
+        assertEquals(41, statsCounters.getMutantCount());
+        assertEquals(100, statsCounters.getHumanCount());
+    }
+
+    @Test
+    @DisplayName("STATS: Una inserción contada y registrada durante la reconciliación sobra solo hasta la siguiente")
+    void reconcile_WhenCountedInsertIsRecordedDuringCount_ShouldOvercountUntilNextReconcile() {
+        // Arrange: la inserción ya está en el conteo (41) y se registra después de leer los adders
+        when(dnaRecordRepository.countByIsMutant(true)).thenAnswer(invocation -> {
+            statsCounters.recordInsert(true);
+            return 41L;
+        }).thenReturn(41L);
+        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(100L);
+
+        // Act & Assert: exceso de una inserción, la que estaba en curso
+        statsCounters.reconcile();
+        assertEquals(42, statsCounters.getMutantCount());
+
+        statsCounters.reconcile();
+        assertEquals(41, statsCounters.getMutantCount());
+        assertEquals(100, statsCounters.getHumanCount());
+    }
+
     @Test
     @DisplayName("STATS: Debe manejar el caso sin humanos (división por cero)")
     void getStats_WhenNoHumans_ShouldHandleRatio() {
         // Arrange
         when(dnaRecordRepository.countByIsMutant(true)).thenReturn(10L);
         when(dnaRecordRepository.countByIsMutant(false)).thenReturn(0L);
+        statsCounters.reconcile();
 
         // Act
         StatsResponse stats = statsService.getStats();
@@ -60,6 +141,7 @@ class StatsServiceTest {
         // Arrange
         when(dnaRecordRepository.countByIsMutant(true)).thenReturn(0L);
         when(dnaRecordRepository.countByIsMutant(false)).thenReturn(0L);
+        statsCounters.reconcile();
 
         // Act
         StatsResponse stats = statsService.getStats();
@@ -76,6 +158,7 @@ class StatsServiceTest {
         // Arrange
         when(dnaRecordRepository.countByIsMutant(true)).thenReturn(50L);
         when(dnaRecordRepository.countByIsMutant(false)).thenReturn(50L);
+        statsCounters.reconcile();
 
         // Act
         StatsResponse stats = statsService.getStats();
@@ -92,6 +175,7 @@ class StatsServiceTest {
         // Arrange
         when(dnaRecordRepository.countByIsMutant(true)).thenReturn(1L);
         when(dnaRecordRepository.countByIsMutant(false)).thenReturn(3L);
+        statsCounters.reconcile();
 
         // Act
         StatsResponse stats = statsService.getStats();
@@ -101,4 +185,116 @@ class StatsServiceTest {
         assertEquals(3, stats.getCountHumanDna());
         assertEquals(0.333, stats.getRatio(), 0.001);
     }
+
+    @Test
+    @DisplayName("STATS: Las inserciones nuevas se suman sin volver a consultar la BD")
+    void getStats_AfterInserts_ShouldIncludeThemWithoutQueryingDatabase() {
+        // Arrange
+        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(1L);
+        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(1L);
+        statsCounters.reconcile();
+        statsCounters.recordInsert(true);
+        statsCounters.recordInsert(false);
+        statsCounters.recordInsert(false);
+
+        // Act
+        StatsResponse stats = statsService.getStats();
+
+        // Assert
+        assertEquals(2, stats.getCountMutantDna());
+        assertEquals(3, stats.getCountHumanDna());
+        verify(dnaRecordRepository, times(1)).countByIsMutant(true);
+        verify(dnaRecordRepository, times(1)).countByIsMutant(false);
+    }
+
+    @Test
+    @DisplayName("STATS: La reconciliación reemplaza los contadores con los valores de la BD")
+    void reconcile_ShouldReplaceCountersWithDatabaseCounts() {
+        // Arrange
+        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(7L);
+        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(9L);
+        statsCounters.recordInsert(true);
+        statsCounters.recordInsert(false);
+
+        // Act
+        statsCounters.reconcile();
+        StatsResponse stats = statsService.getStats();
+
+        // Assert
+        assertEquals(7, stats.getCountMutantDna());
+        assertEquals(9, stats.getCountHumanDna());
+    }
+
+    @Test
+    @DisplayName("STATS: Con la tabla dna_stats habilitada lee una sola fila sin contar dna_records")
+    void getStats_WhenStatsTableIsEnabled_ShouldReadSummaryRow() {
+        // Arrange
+        DnaStats summary = new DnaStats();
+        summary.setId(DnaStats.SUMMARY_ID);
+        summary.setMutantCount(40L);
+        summary.setHumanCount(100L);
+        when(dnaStatsRepository.findById(DnaStats.SUMMARY_ID)).thenReturn(Optional.of(summary));
+        statsService = new StatsService(statsCounters, statsWindow,
+                new DnaStatsTable(dnaStatsRepository, dnaRecordRepository, null, true));
+
+        // Act
+        StatsResponse stats = statsService.getStats();
+
+        // Assert
+        assertEquals(40, stats.getCountMutantDna());
+        assertEquals(100, stats.getCountHumanDna());
+        assertEquals(0.4, stats.getRatio(), 0.001);
+        verify(dnaRecordRepository, never()).countByIsMutant(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("STATS: Con la tabla dna_stats habilitada la reconciliación lee la fila sin contar dna_records")
+    void reconcile_WhenStatsTableIsEnabled_ShouldReadSummaryRow() {
+        // Arrange
+        DnaStats summary = new DnaStats();
+        summary.setId(DnaStats.SUMMARY_ID);
+        summary.setMutantCount(12L);
+        summary.setHumanCount(30L);
+        when(dnaStatsRepository.findById(DnaStats.SUMMARY_ID)).thenReturn(Optional.of(summary));
+        statsCounters = new DnaStatsCounters(new JpaVerdictStore(dnaRecordRepository),
+                new DnaStatsTable(dnaStatsRepository, dnaRecordRepository, null, true));
+
+        // Act
+        statsCounters.reconcile();
+
+        // Assert
+        assertEquals(12, statsCounters.getMutantCount());
+        assertEquals(30, statsCounters.getHumanCount());
+        verify(dnaRecordRepository, never()).countByIsMutant(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("STATS POR VENTANA: Calcula throughput, ratio y aciertos de caché sin consultar la base de datos")
+    void getWindowedStats_ShouldAggregateEachWindow() {
+        // Arrange: hace dos horas, 100 humanos; hace 10 minutos, 30 mutantes y 30 humanos; ahora, 6 mutantes.
+        now -= 2 * 3600;
+        statsWindow.record(100, 0, 0);
+        now += 2 * 3600 - 600;
+        statsWindow.record(60, 30, 20);
+        now += 600;
+        statsWindow.record(6, 6, 6);
+
+        // Act
+        StatsWindowResponse stats = statsService.getWindowedStats();
+
+        // Assert
+        assertEquals(6, stats.getLastMinute().getRequests());
+        assertEquals(0.1, stats.getLastMinute().getThroughputPerSecond(), 0.001);
+        assertEquals(6.0, stats.getLastMinute().getRatio(), 0.001);
+        assertEquals(1.0, stats.getLastMinute().getCacheHitRatio(), 0.001);
+
+        assertEquals(66, stats.getLastHour().getRequests());
+        assertEquals(36, stats.getLastHour().getCountMutantDna());
+        assertEquals(30, stats.getLastHour().getCountHumanDna());
+        assertEquals(1.2, stats.getLastHour().getRatio(), 0.001);
+
+        assertEquals(166, stats.getLastDay().getRequests());
+        assertEquals(26.0 / 166, stats.getLastDay().getCacheHitRatio(), 0.001);
+        verifyNoInteractions(dnaRecordRepository);
+    }
 }